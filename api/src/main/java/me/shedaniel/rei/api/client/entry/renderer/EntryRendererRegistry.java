@@ -44,8 +44,27 @@ public interface EntryRendererRegistry extends Reloadable<REIClientPlugin> {
         return PluginManager.getClientInstance().get(EntryRendererRegistry.class);
     }
     
+    /**
+     * Registers a provider to transform the renderers of the entry type.
+     * <p>
+     * The resolved renderer is cached per {@link EntryStack} instance until the next reload,
+     * use {@link #registerDynamic(EntryType, EntryRendererProvider)} if the provider may return
+     * a different renderer for the same stack over time.
+     *
+     * @param type     the entry type
+     * @param provider the renderer provider
+     */
     <T> void register(EntryType<T> type, EntryRendererProvider<T> provider);
     
+    /**
+     * Registers a provider to transform the renderers of the entry type,
+     * renderers of the entry type are resolved every time they are requested instead of being cached.
+     *
+     * @param type     the entry type
+     * @param provider the renderer provider
+     */
+    <T> void registerDynamic(EntryType<T> type, EntryRendererProvider<T> provider);
+    
     default <T> void transformTooltip(EntryType<T> type, TooltipTransformer<T> transformer) {
         register(type, (entry, last) -> {
             return new ForwardingEntryRenderer<T>(last) {
@@ -37,6 +37,7 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @Environment(EnvType.CLIENT)
 public interface FavoriteEntryType<T extends FavoriteEntry> {
@@ -73,6 +74,35 @@ public interface FavoriteEntryType<T extends FavoriteEntry> {
          */
         @Deprecated(forRemoval = true)
         <A extends FavoriteEntry> void registerSystemFavorites(SystemFavoriteEntryProvider<A> provider);
+        
+        /**
+         * Registers system favorites that are only queried after they are notified of a change through the returned handle,
+         * instead of on an interval. The provider is called off the render thread,
+         * and must not access client state that is not thread-safe.
+         *
+         * @param provider the provider of the current system favorites
+         * @return the handle to notify the changes through, released when the registry reloads
+         */
+        @ApiStatus.Experimental
+        ChangeHandle registerNotifiedSystemFavorites(Supplier<List<? extends FavoriteEntry>> provider);
+    }
+    
+    /**
+     * A handle to notify system favorites of their changes.
+     */
+    @ApiStatus.Experimental
+    @ApiStatus.NonExtendable
+    interface ChangeHandle {
+        /**
+         * Notifies that the provided entries have changed, may be called from any thread.
+         * Does nothing once the handle is released.
+         */
+        void markChanged();
+        
+        /**
+         * Returns whether the handle has been released by a reload, the provider should stop notifying it.
+         */
+        boolean isReleased();
     }
     
     @ApiStatus.NonExtendable
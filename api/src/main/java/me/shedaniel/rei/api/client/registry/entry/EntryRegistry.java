@@ -25,6 +25,7 @@ package me.shedaniel.rei.api.client.registry.entry;
 
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.entry.type.EntryType;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
 import me.shedaniel.rei.api.common.registry.Reloadable;
 import net.fabricmc.api.EnvType;
@@ -79,6 +80,18 @@ public interface EntryRegistry extends Reloadable<REIClientPlugin> {
      */
     Stream<EntryStack<?>> getEntryStacks();
     
+    /**
+     * Returns the entry stacks of the given type, before being filtered by filtering rules.
+     * The returned list is an immutable snapshot, indexed by the registry, and is cheap to query repeatedly.
+     * Later changes to the registry are not reflected in lists that were already returned.
+     *
+     * @param type the type of the entry stacks
+     * @param <T>  the type of entry
+     * @return the immutable snapshot of entry stacks of the given type
+     */
+    @ApiStatus.Experimental
+    <T> List<EntryStack<T>> getEntryStacks(EntryType<T> type);
+    
     /**
      * @return the unmodifiable list of filtered entry stacks,
      * only available <b>after</b> plugins reload.
@@ -152,6 +165,31 @@ public interface EntryRegistry extends Reloadable<REIClientPlugin> {
         addEntriesAfter(null, stacks);
     }
     
+    /**
+     * Queues multiple stacks to be added to the item list at the end of the current client tick.
+     * Queued additions and removals are coalesced and applied together, running the filtering
+     * rules and updating the search only once, which is preferred for runtime modifications.
+     * <p>
+     * During the reloading phase, the stacks are added immediately.
+     *
+     * @param stacks the stacks to add
+     */
+    @ApiStatus.Experimental
+    void queueAddEntries(Collection<? extends EntryStack<?>> stacks);
+    
+    /**
+     * Queues multiple stacks to be removed from the item list at the end of the current client tick,
+     * compared by their exact hash.
+     * Queued additions and removals are coalesced and applied together, running the filtering
+     * rules and updating the search only once, which is preferred for runtime modifications.
+     * <p>
+     * During the reloading phase, the stacks are removed immediately.
+     *
+     * @param stacks the stacks to remove
+     */
+    @ApiStatus.Experimental
+    void queueRemoveEntries(Collection<? extends EntryStack<?>> stacks);
+    
     // TODO Re-evaluate the need for this
     @ApiStatus.Internal
     Collection<EntryStack<?>> refilterNew(boolean warn, Collection<EntryStack<?>> entries);
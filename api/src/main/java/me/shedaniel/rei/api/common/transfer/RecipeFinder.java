@@ -23,8 +23,12 @@
 
 package me.shedaniel.rei.api.common.transfer;
 
-import com.google.common.collect.Lists;
-import it.unimi.dsi.fastutil.ints.*;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import net.minecraft.core.NonNullList;
 import net.minecraft.core.Registry;
 import net.minecraft.world.item.Item;
@@ -33,6 +37,7 @@ import net.minecraft.world.item.crafting.Ingredient;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 
@@ -94,7 +99,7 @@ public class RecipeFinder {
     }
     
     public boolean findRecipe(NonNullList<Ingredient> ingredients, @Nullable IntList intList_1, int int_1) {
-        return (new RecipeFinder.Filter(ingredients)).find(int_1, intList_1);
+        return this.createFilter(PreparedIngredients.of(ingredients)).find(int_1, intList_1);
     }
     
     public int countRecipeCrafts(NonNullList<Ingredient> ingredients, @Nullable IntList intList_1) {
@@ -102,37 +107,75 @@ public class RecipeFinder {
     }
     
     public int countRecipeCrafts(NonNullList<Ingredient> ingredients, int int_1, @Nullable IntList intList_1) {
-        return (new RecipeFinder.Filter(ingredients)).countCrafts(int_1, intList_1);
+        return this.createFilter(PreparedIngredients.of(ingredients)).countCrafts(int_1, intList_1);
+    }
+    
+    /**
+     * Creates a matching graph of the ingredients against the current contents of this finder.
+     * The graph can be reused for multiple {@link Filter#find(int, IntList)} and {@link Filter#countCrafts(int, IntList)} calls,
+     * as long as the contents are not modified in between.
+     *
+     * @param ingredients the prepared ingredients
+     * @return the matching graph
+     */
+    public Filter createFilter(PreparedIngredients ingredients) {
+        return new Filter(ingredients);
     }
     
     public void clear() {
         this.idToAmountMap.clear();
     }
     
-    class Filter {
-        private final List<Ingredient> ingredients = Lists.newArrayList();
+    /**
+     * The ingredients of a recipe with their item ids resolved, can be reused across finders.
+     */
+    public static final class PreparedIngredients {
+        private final boolean[] emptyInputs;
+        private final int[][] itemIds;
+        
+        private PreparedIngredients(boolean[] emptyInputs, int[][] itemIds) {
+            this.emptyInputs = emptyInputs;
+            this.itemIds = itemIds;
+        }
+        
+        public static PreparedIngredients of(List<Ingredient> ingredients) {
+            boolean[] emptyInputs = new boolean[ingredients.size()];
+            List<int[]> itemIds = new ArrayList<>(ingredients.size());
+            for (int i = 0; i < ingredients.size(); i++) {
+                Ingredient ingredient = ingredients.get(i);
+                emptyInputs[i] = ingredient.isEmpty();
+                if (!emptyInputs[i]) {
+                    int[] ids = ingredient.getStackingIds().toIntArray();
+                    Arrays.sort(ids);
+                    itemIds.add(ids);
+                }
+            }
+            return new PreparedIngredients(emptyInputs, itemIds.toArray(new int[0][]));
+        }
+    }
+    
+    public class Filter {
+        private final int[][] ingredientItemIds;
         private final int ingredientCount;
         private final int[] usableIngredientItemIds;
         private final int usableIngredientSize;
         private final BitSet bitSet;
         private final IntList field_7557 = new IntArrayList();
-        private final NonNullList<Ingredient> ingredientsInput;
+        private final boolean[] emptyInputs;
         
-        public Filter(NonNullList<Ingredient> ingredientsInput) {
-            this.ingredientsInput = ingredientsInput;
-            this.ingredients.addAll(new ArrayList<>(ingredientsInput));
-            this.ingredients.removeIf(Ingredient::isEmpty);
-            this.ingredientCount = this.ingredients.size();
+        private Filter(PreparedIngredients ingredients) {
+            this.emptyInputs = ingredients.emptyInputs;
+            this.ingredientItemIds = ingredients.itemIds;
+            this.ingredientCount = this.ingredientItemIds.length;
             this.usableIngredientItemIds = this.getUsableIngredientItemIds();
             this.usableIngredientSize = this.usableIngredientItemIds.length;
             this.bitSet = new BitSet(this.ingredientCount + this.usableIngredientSize + this.ingredientCount + this.ingredientCount * this.usableIngredientSize);
             
-            for (int ingredientIndex = 0; ingredientIndex < this.ingredients.size(); ++ingredientIndex) {
-                IntList possibleStacks = this.ingredients.get(ingredientIndex).getStackingIds();
-                
-                // Loops over usable ingredients
-                for (int usableIngredientIndex = 0; usableIngredientIndex < this.usableIngredientSize; ++usableIngredientIndex) {
-                    if (possibleStacks.contains(this.usableIngredientItemIds[usableIngredientIndex])) {
+            for (int ingredientIndex = 0; ingredientIndex < this.ingredientCount; ++ingredientIndex) {
+                // Both arrays are sorted, only look up the possible stacks of this ingredient
+                for (int possibleStack : this.ingredientItemIds[ingredientIndex]) {
+                    int usableIngredientIndex = Arrays.binarySearch(this.usableIngredientItemIds, possibleStack);
+                    if (usableIngredientIndex >= 0) {
                         this.bitSet.set(this.method_7420(true, usableIngredientIndex, ingredientIndex));
                     }
                 }
@@ -140,7 +183,6 @@ public class RecipeFinder {
             
         }
         
-        @SuppressWarnings("deprecation")
         public boolean find(int int_1, @Nullable IntList intList_1) {
             if (int_1 <= 0) {
                 return true;
@@ -167,11 +209,12 @@ public class RecipeFinder {
                 
                 this.bitSet.clear(0, this.ingredientCount + this.usableIngredientSize + this.ingredientCount);
                 int int_5 = 0;
-                List<Ingredient> list_1 = new ArrayList<>(ingredientsInput);
                 
-                for (Ingredient ingredient : list_1) {
-                    if (boolean_2 && ingredient.isEmpty()) {
-                        intList_1.add(0);
+                for (boolean emptyInput : this.emptyInputs) {
+                    if (emptyInput) {
+                        if (boolean_2) {
+                            intList_1.add(0);
+                        }
                     } else {
                         for (int int_7 = 0; int_7 < this.usableIngredientSize; ++int_7) {
                             if (this.method_7425(false, int_5, int_7)) {
@@ -192,21 +235,19 @@ public class RecipeFinder {
         }
         
         private int[] getUsableIngredientItemIds() {
-            IntCollection intCollection_1 = new IntAVLTreeSet();
-            
-            for (Ingredient ingredient_1 : this.ingredients) {
-                intCollection_1.addAll(ingredient_1.getStackingIds());
-            }
+            IntSet intSet_1 = new IntOpenHashSet();
             
-            IntIterator intIterator_1 = intCollection_1.iterator();
-            
-            while (intIterator_1.hasNext()) {
-                if (!RecipeFinder.this.contains(intIterator_1.nextInt())) {
-                    intIterator_1.remove();
+            for (int[] itemIds : this.ingredientItemIds) {
+                for (int itemId : itemIds) {
+                    if (RecipeFinder.this.contains(itemId)) {
+                        intSet_1.add(itemId);
+                    }
                 }
             }
             
-            return intCollection_1.toIntArray();
+            int[] usableIngredientItemIds = intSet_1.toIntArray();
+            Arrays.sort(usableIngredientItemIds);
+            return usableIngredientItemIds;
         }
         
         private boolean method_7423(int int_1) {
@@ -315,16 +356,14 @@ public class RecipeFinder {
             }
         }
         
-        @SuppressWarnings("deprecation")
         private int method_7415() {
             int int_1 = Integer.MAX_VALUE;
             
-            for (Ingredient ingredient_1 : this.ingredients) {
+            for (int[] itemIds : this.ingredientItemIds) {
                 int int_2 = 0;
                 
-                int int_3;
-                for (IntListIterator var5 = ingredient_1.getStackingIds().iterator(); var5.hasNext(); int_2 = Math.max(int_2, RecipeFinder.this.idToAmountMap.get(int_3))) {
-                    int_3 = var5.next();
+                for (int int_3 : itemIds) {
+                    int_2 = Math.max(int_2, RecipeFinder.this.idToAmountMap.get(int_3));
                 }
                 
                 if (int_1 > 0) {
@@ -0,0 +1,76 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import me.shedaniel.rei.api.client.registry.entry.CollapsibleEntryRegistry;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.benchmarks.fixture.HeadlessEnvironment;
+import me.shedaniel.rei.benchmarks.fixture.SyntheticRegistries;
+import me.shedaniel.rei.impl.client.gui.widget.entrylist.EntryListSearchManager;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Measures collapsing a search result against 16 predicate groups, one per namespace,
+ * and 16 list groups of 200 entries each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EntryListSearchManagerBenchmark {
+    private static final int GROUPS = 16;
+    private static final int GROUP_SIZE = 200;
+    @Param({"100000", "1000000"})
+    public int entries;
+    private List<EntryStack<?>> stacks;
+    
+    @Setup
+    public void setup() {
+        HeadlessEnvironment.setup();
+        stacks = SyntheticRegistries.createStacks(entries);
+        CollapsibleEntryRegistry registry = CollapsibleEntryRegistry.getInstance();
+        registry.startReload();
+        for (int i = 0; i < GROUPS; i++) {
+            String namespace = "mod" + i;
+            registry.group(new ResourceLocation("rei_benchmarks", "namespace_" + i), Component.literal(namespace),
+                    (Predicate<EntryStack<?>>) stack -> namespace.equals(stack.getContainingNamespace()));
+        }
+        int stride = stacks.size() / GROUPS;
+        for (int i = 0; i < GROUPS; i++) {
+            registry.group(new ResourceLocation("rei_benchmarks", "list_" + i), Component.literal("List " + i),
+                    stacks.subList(i * stride, i * stride + GROUP_SIZE));
+        }
+        registry.endReload();
+    }
+    
+    @Benchmark
+    public List<Object> collapse() {
+        return EntryListSearchManager.INSTANCE.collapse(stacks);
+    }
+}
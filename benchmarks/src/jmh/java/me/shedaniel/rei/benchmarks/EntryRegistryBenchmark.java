@@ -0,0 +1,112 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.benchmarks.fixture.HeadlessEnvironment;
+import me.shedaniel.rei.benchmarks.fixture.SyntheticEntryDefinition;
+import me.shedaniel.rei.benchmarks.fixture.SyntheticRegistries;
+import me.shedaniel.rei.impl.common.entry.type.EntryRegistryImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mutating a filled entry registry, and looking up the entries of a type,
+ * which is what JEI's {@code getAllIngredients} is backed by.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EntryRegistryBenchmark {
+    private static final int ADDED = 1000;
+    private static final int LOOKUPS = 10000;
+    
+    @State(Scope.Benchmark)
+    public static class Filled {
+        @Param({"100000", "1000000"})
+        public int entries;
+        public EntryRegistryImpl registry;
+        
+        @Setup(Level.Trial)
+        public void setup() {
+            HeadlessEnvironment.setup();
+            registry = fill(SyntheticRegistries.createStacks(entries));
+        }
+    }
+    
+    @State(Scope.Benchmark)
+    public static class Refilled {
+        @Param({"100000", "1000000"})
+        public int entries;
+        public List<EntryStack<?>> base;
+        public List<EntryStack<?>> added;
+        public EntryStack<?> anchor;
+        public EntryRegistryImpl registry;
+        
+        @Setup(Level.Trial)
+        public void setup() {
+            HeadlessEnvironment.setup();
+            List<EntryStack<?>> stacks = SyntheticRegistries.createStacks(entries + ADDED);
+            base = stacks.subList(0, entries);
+            added = stacks.subList(entries, entries + ADDED);
+            anchor = base.get(entries / 2);
+        }
+        
+        @Setup(Level.Invocation)
+        public void refill() {
+            registry = fill(base);
+        }
+    }
+    
+    private static EntryRegistryImpl fill(List<EntryStack<?>> stacks) {
+        EntryRegistryImpl registry = new EntryRegistryImpl();
+        registry.startReload();
+        registry.addEntriesAfter(null, stacks);
+        registry.endReload();
+        return registry;
+    }
+    
+    @Benchmark
+    public int insertAfter(Refilled state) {
+        state.registry.addEntriesAfter(state.anchor, state.added);
+        return state.registry.size();
+    }
+    
+    @Benchmark
+    public int append(Refilled state) {
+        state.registry.addEntriesAfter(null, state.added);
+        return state.registry.size();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void getEntryStacksByType(Filled state, Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(state.registry.getEntryStacks(SyntheticEntryDefinition.TYPE));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import it.unimi.dsi.fastutil.ints.IntList;
+import me.shedaniel.rei.benchmarks.fixture.HeadlessEnvironment;
+import me.shedaniel.rei.impl.client.search.argument.InputMethodMatcher;
+import me.shedaniel.rei.impl.client.search.method.unihan.PinyinInputMethod;
+import me.shedaniel.rei.impl.client.search.method.unihan.UniHanManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Measures matching pinyin queries with the backtracking matcher, and with queries compiled once per query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PinyinBenchmark {
+    private static final String[] SOURCES = {"合金炉", "洗矿场", "测试文本", "Iron Ingot", "铁锭", "工业高炉", "流体储罐", "Enchanted Golden Apple 附魔金苹果"};
+    private static final String[] QUERIES = {"hejinlu", "xkc", "tieding", "ingot", "gygl", "ltcg", "fumojin"};
+    private PinyinInputMethod pinyinInputMethod;
+    private Path tempDir;
+    
+    @Setup
+    public void setup() throws IOException {
+        HeadlessEnvironment.setup();
+        tempDir = Files.createTempDirectory("rei-benchmarks");
+        Path unihanPath = tempDir.resolve("unihan.zip");
+        try (OutputStream outputStream = Files.newOutputStream(unihanPath);
+             ZipOutputStream zipStream = new ZipOutputStream(outputStream);
+             InputStream readings = Objects.requireNonNull(PinyinBenchmark.class.getResourceAsStream("/unihan/Unihan_Readings.txt"))) {
+            zipStream.putNextEntry(new ZipEntry("Unihan_Readings.txt"));
+            readings.transferTo(zipStream);
+            zipStream.closeEntry();
+        }
+        pinyinInputMethod = new PinyinInputMethod(new UniHanManager(unihanPath));
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        pinyinInputMethod.prepare(service).join();
+        service.shutdown();
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+    
+    @Benchmark
+    public int backtracking() {
+        int matches = 0;
+        for (String query : QUERIES) {
+            IntList queryCodePoints = IntList.of(query.codePoints().toArray());
+            for (String source : SOURCES) {
+                if (InputMethodMatcher.contains(pinyinInputMethod, IntList.of(source.codePoints().toArray()), queryCodePoints)) matches++;
+            }
+        }
+        return matches;
+    }
+    
+    @Benchmark
+    public int compiled() {
+        int matches = 0;
+        for (String query : QUERIES) {
+            InputMethodMatcher.Compiled matcher = InputMethodMatcher.compile(pinyinInputMethod, IntList.of(query.codePoints().toArray()));
+            for (String source : SOURCES) {
+                if (matcher.contains(source)) matches++;
+            }
+        }
+        return matches;
+    }
+}
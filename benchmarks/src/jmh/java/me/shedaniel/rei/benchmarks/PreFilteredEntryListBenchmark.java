@@ -0,0 +1,73 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import me.shedaniel.rei.api.client.config.entry.EntryStackProvider;
+import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.benchmarks.fixture.HeadlessEnvironment;
+import me.shedaniel.rei.benchmarks.fixture.SyntheticRegistries;
+import me.shedaniel.rei.impl.client.config.ConfigObjectImpl;
+import me.shedaniel.rei.impl.client.entry.filtering.rules.ManualFilteringRule;
+import me.shedaniel.rei.impl.client.entry.filtering.rules.SearchFilteringRule;
+import me.shedaniel.rei.impl.common.entry.type.PreFilteredEntryList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures refiltering the registry with one manually hidden entry out of every 100,
+ * and a search rule hiding every dust.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PreFilteredEntryListBenchmark {
+    @Param({"100000", "1000000"})
+    public int entries;
+    private List<EntryStack<?>> stacks;
+    private PreFilteredEntryList list;
+    
+    @Setup
+    public void setup() {
+        HeadlessEnvironment.setup();
+        stacks = SyntheticRegistries.createStacks(entries);
+        ConfigObjectImpl config = HeadlessEnvironment.getConfig();
+        config.getFilteredStackProviders().clear();
+        for (int i = 0; i < stacks.size(); i += 100) {
+            config.getFilteredStackProviders().add(EntryStackProvider.ofStack(stacks.get(i)));
+        }
+        config.getFilteringRules().clear();
+        config.getFilteringRules().add(new ManualFilteringRule());
+        config.getFilteringRules().add(new SearchFilteringRule("dust", false));
+        list = new PreFilteredEntryList(EntryRegistry.getInstance());
+    }
+    
+    @Benchmark
+    public int onReFilter() {
+        list.onReFilter(stacks);
+        return list.getList().size();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import me.shedaniel.rei.api.common.transfer.RecipeFinder;
+import me.shedaniel.rei.benchmarks.fixture.HeadlessEnvironment;
+import net.minecraft.core.NonNullList;
+import net.minecraft.core.Registry;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures solving a 9x9 grid against a full inventory, every slot accepts one item from the
+ * inventory and three that are likely missing, with every tenth slot left empty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeFinderBenchmark {
+    private static final int SLOTS = 81;
+    private static final int OPTIONS = 4;
+    @Param({"36", "216"})
+    public int inventorySize;
+    private RecipeFinder finder;
+    private NonNullList<Ingredient> ingredients;
+    private RecipeFinder.PreparedIngredients prepared;
+    
+    @Setup
+    public void setup() {
+        HeadlessEnvironment.setup();
+        Random random = new Random(0xBEEF);
+        List<Item> items = Registry.ITEM.stream().filter(item -> item != Items.AIR).toList();
+        Item[] inventory = new Item[inventorySize];
+        finder = new RecipeFinder();
+        for (int i = 0; i < inventorySize; i++) {
+            inventory[i] = items.get(random.nextInt(items.size()));
+            finder.addNormalItem(new ItemStack(inventory[i], inventory[i].getMaxStackSize()));
+        }
+        ingredients = NonNullList.withSize(SLOTS, Ingredient.EMPTY);
+        for (int i = 0; i < SLOTS; i++) {
+            if (i % 10 == 9) continue;
+            Item[] options = new Item[OPTIONS];
+            options[0] = inventory[random.nextInt(inventorySize)];
+            for (int j = 1; j < OPTIONS; j++) {
+                options[j] = items.get(random.nextInt(items.size()));
+            }
+            ingredients.set(i, Ingredient.of(options));
+        }
+        prepared = RecipeFinder.PreparedIngredients.of(ingredients);
+    }
+    
+    @Benchmark
+    public boolean findRecipe() {
+        return finder.findRecipe(ingredients, null);
+    }
+    
+    /**
+     * Mirrors the sequence {@code InputSlotCrafter} runs when transferring a recipe.
+     */
+    @Benchmark
+    public IntList transferSequence() {
+        RecipeFinder.Filter filter = finder.createFilter(prepared);
+        IntList list = new IntArrayList();
+        if (!filter.find(1, null)) return list;
+        int count = filter.countCrafts(Integer.MAX_VALUE, null);
+        filter.find(count, list);
+        return list;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.benchmarks.fixture.HeadlessEnvironment;
+import me.shedaniel.rei.benchmarks.fixture.SyntheticRegistries;
+import me.shedaniel.rei.impl.client.search.argument.AlternativeArgument;
+import me.shedaniel.rei.impl.client.search.argument.Argument;
+import me.shedaniel.rei.impl.client.search.argument.CompoundArgument;
+import me.shedaniel.rei.impl.client.search.argument.type.ArgumentType;
+import me.shedaniel.rei.impl.client.search.method.DefaultInputMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures matching a search against every entry with a warm search cache, and rebuilding that cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SearchBenchmark {
+    @Param({"100000", "1000000"})
+    public int entries;
+    @Param({"iron", "iron ingot 3", "gold -dust", "mod7:copper"})
+    public String query;
+    private List<EntryStack<?>> stacks;
+    private List<CompoundArgument> arguments;
+    private List<ArgumentType<?, ?>> argumentTypes;
+    
+    @Setup
+    public void setup() {
+        HeadlessEnvironment.setup();
+        stacks = SyntheticRegistries.createStacks(entries);
+        arguments = Argument.bakeArguments(query);
+        argumentTypes = arguments.stream()
+                .flatMap(CompoundArgument::stream)
+                .flatMap(AlternativeArgument::stream)
+                .map(Argument::getArgument)
+                .distinct()
+                .collect(Collectors.toList());
+        Argument.prepareFilter(stacks, argumentTypes);
+    }
+    
+    @Benchmark
+    public int matches() {
+        int matches = 0;
+        for (EntryStack<?> stack : stacks) {
+            if (Argument.matches(stack, arguments, DefaultInputMethod.INSTANCE)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+    
+    @Benchmark
+    public void prepareFilter() {
+        Argument.SEARCH_CACHE.clear();
+        Argument.prepareFilter(stacks, argumentTypes);
+    }
+}
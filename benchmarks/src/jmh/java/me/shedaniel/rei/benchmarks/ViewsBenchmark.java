@@ -0,0 +1,82 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import me.shedaniel.rei.api.client.registry.display.DisplayCategory;
+import me.shedaniel.rei.api.client.view.ViewSearchBuilder;
+import me.shedaniel.rei.api.common.category.CategoryIdentifier;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.benchmarks.fixture.HeadlessEnvironment;
+import me.shedaniel.rei.benchmarks.fixture.SyntheticDisplay;
+import me.shedaniel.rei.benchmarks.fixture.SyntheticRegistries;
+import me.shedaniel.rei.impl.client.view.ViewsImpl;
+import me.shedaniel.rei.impl.display.DisplaySpec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the recipe view of an entry used by many displays, and of one used by few.
+ * Displays are not merged, merging orders them by auto crafting which needs an open container screen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ViewsBenchmark {
+    private static final int CATEGORIES = 16;
+    @Param({"100000"})
+    public int entries;
+    @Param({"50000", "500000"})
+    public int displays;
+    private EntryStack<?> commonStack;
+    private EntryStack<?> rareStack;
+    
+    @Setup
+    public void setup() {
+        HeadlessEnvironment.setup();
+        List<EntryStack<?>> stacks = SyntheticRegistries.createStacks(entries);
+        SyntheticRegistries.registerEntries(stacks);
+        List<CategoryIdentifier<SyntheticDisplay>> categories = SyntheticRegistries.registerCategories(stacks, CATEGORIES);
+        SyntheticRegistries.registerDisplays(SyntheticRegistries.createDisplays(stacks, categories, displays));
+        commonStack = stacks.get(0);
+        rareStack = stacks.get(stacks.size() - 1);
+    }
+    
+    @Benchmark
+    public Map<DisplayCategory<?>, List<DisplaySpec>> usagesForCommon() {
+        return ViewsImpl.buildMapFor(ViewSearchBuilder.builder().addUsagesFor(commonStack).mergingDisplays(false));
+    }
+    
+    @Benchmark
+    public Map<DisplayCategory<?>, List<DisplaySpec>> recipesForCommon() {
+        return ViewsImpl.buildMapFor(ViewSearchBuilder.builder().addRecipesFor(commonStack).mergingDisplays(false));
+    }
+    
+    @Benchmark
+    public Map<DisplayCategory<?>, List<DisplaySpec>> usagesForRare() {
+        return ViewsImpl.buildMapFor(ViewSearchBuilder.builder().addUsagesFor(rareStack).mergingDisplays(false));
+    }
+}
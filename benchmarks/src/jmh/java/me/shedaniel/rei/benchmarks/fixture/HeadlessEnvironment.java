@@ -0,0 +1,146 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks.fixture;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import me.shedaniel.rei.api.client.config.ConfigObject;
+import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
+import me.shedaniel.rei.api.client.view.ViewSearchBuilder;
+import me.shedaniel.rei.api.common.entry.type.EntryType;
+import me.shedaniel.rei.api.common.entry.type.EntryTypeRegistry;
+import me.shedaniel.rei.api.common.plugins.REIPlugin;
+import me.shedaniel.rei.api.common.plugins.REIServerPlugin;
+import me.shedaniel.rei.impl.ClientInternals;
+import me.shedaniel.rei.impl.Internals;
+import me.shedaniel.rei.impl.client.ClientHelperImpl;
+import me.shedaniel.rei.impl.client.REIRuntimeImpl;
+import me.shedaniel.rei.impl.client.config.ConfigObjectImpl;
+import me.shedaniel.rei.impl.client.entry.renderer.EntryRendererRegistryImpl;
+import me.shedaniel.rei.impl.client.registry.category.CategoryRegistryImpl;
+import me.shedaniel.rei.impl.client.registry.display.DisplayRegistryImpl;
+import me.shedaniel.rei.impl.client.search.SearchProviderImpl;
+import me.shedaniel.rei.impl.client.search.method.InputMethodRegistryImpl;
+import me.shedaniel.rei.impl.client.view.ViewsImpl;
+import me.shedaniel.rei.impl.common.InternalLogger;
+import me.shedaniel.rei.impl.common.category.CategoryIdentifierImpl;
+import me.shedaniel.rei.impl.common.entry.DeferringEntryTypeProviderImpl;
+import me.shedaniel.rei.impl.common.entry.EntryIngredientImpl;
+import me.shedaniel.rei.impl.common.entry.EntryStackProviderImpl;
+import me.shedaniel.rei.impl.common.entry.comparison.FluidComparatorRegistryImpl;
+import me.shedaniel.rei.impl.common.entry.comparison.ItemComparatorRegistryImpl;
+import me.shedaniel.rei.impl.common.entry.comparison.NbtHasherProviderImpl;
+import me.shedaniel.rei.impl.common.entry.settings.EntrySettingsAdapterRegistryImpl;
+import me.shedaniel.rei.impl.common.entry.type.EntryRegistryImpl;
+import me.shedaniel.rei.impl.common.entry.type.EntryTypeRegistryImpl;
+import me.shedaniel.rei.impl.common.entry.type.collapsed.CollapsibleEntryRegistryImpl;
+import me.shedaniel.rei.impl.common.plugins.PluginManagerImpl;
+import net.minecraft.SharedConstants;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import org.apache.logging.log4j.Level;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Attaches the internals the same way {@code RoughlyEnoughItemsCore} does, with the registries
+ * that need a running client replaced by headless stand-ins. No plugins are loaded, the benchmarks
+ * fill the registries themselves through {@link SyntheticRegistries}.
+ */
+public final class HeadlessEnvironment {
+    public static final InternalLogger LOGGER = new InternalLogger() {
+        @Override
+        public void throwException(Throwable throwable) {
+            throwable.printStackTrace();
+        }
+        
+        @Override
+        public void log(Level level, String message) {
+            if (level.isMoreSpecificThan(Level.WARN)) {
+                System.out.println("[" + level.name() + "] " + message);
+            }
+        }
+        
+        @Override
+        public void log(Level level, String message, Throwable throwable) {
+            log(level, message);
+            throwable.printStackTrace();
+        }
+    };
+    private static boolean initialized = false;
+    
+    private HeadlessEnvironment() {}
+    
+    /**
+     * Sets up the environment once per JVM, the calling thread is treated as the client thread from then on,
+     * so the benchmarks should be run with a single thread.
+     */
+    public static synchronized void setup() {
+        if (initialized) return;
+        initialized = true;
+        new HeadlessLauncher();
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        // Search preparation defers uncached entries to client ticks when called off the client thread, nothing ticks here
+        RenderSystem.initRenderThread();
+        
+        Internals.attachInstanceSupplier(LOGGER, "logger");
+        CategoryIdentifierImpl.attach();
+        Internals.attachInstance((Function<ResourceLocation, EntryType<?>>) DeferringEntryTypeProviderImpl.INSTANCE, "entryTypeDeferred");
+        Internals.attachInstance(EntryStackProviderImpl.INSTANCE, Internals.EntryStackProvider.class);
+        Internals.attachInstance(NbtHasherProviderImpl.INSTANCE, Internals.NbtHasherProvider.class);
+        Internals.attachInstance(EntryIngredientImpl.INSTANCE, Internals.EntryIngredientProvider.class);
+        Internals.attachInstanceSupplier(new PluginManagerImpl<>(
+                REIPlugin.class,
+                UnaryOperator.identity(),
+                new EntryTypeRegistryImpl(),
+                new EntrySettingsAdapterRegistryImpl(),
+                new ItemComparatorRegistryImpl(),
+                new FluidComparatorRegistryImpl()), "commonPluginManager");
+        Internals.attachInstanceSupplier(new PluginManagerImpl<>(
+                REIServerPlugin.class,
+                UnaryOperator.identity()), "serverPluginManager");
+        ClientInternals.attachInstance((Supplier<ViewSearchBuilder>) ClientHelperImpl.ViewSearchBuilderImpl::new, "viewSearchBuilder");
+        ClientInternals.attachInstanceSupplier(new PluginManagerImpl<>(
+                REIClientPlugin.class,
+                UnaryOperator.identity(),
+                new EntryRendererRegistryImpl(),
+                new ViewsImpl(),
+                new InputMethodRegistryImpl(),
+                new SearchProviderImpl(),
+                new HeadlessConfigManager(),
+                new EntryRegistryImpl(),
+                new CollapsibleEntryRegistryImpl(),
+                new CategoryRegistryImpl(),
+                new DisplayRegistryImpl(),
+                new REIRuntimeImpl()), "clientPluginManager");
+        
+        EntryTypeRegistry.getInstance().register(SyntheticEntryDefinition.ID, SyntheticEntryDefinition.INSTANCE);
+    }
+    
+    public static ConfigObjectImpl getConfig() {
+        return (ConfigObjectImpl) ConfigObject.getInstance();
+    }
+}
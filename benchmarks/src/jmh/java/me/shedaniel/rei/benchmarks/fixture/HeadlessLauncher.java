@@ -0,0 +1,119 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks.fixture;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.loader.impl.launch.FabricLauncherBase;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.jar.Manifest;
+
+/**
+ * A launcher that only answers environment queries, the classes are loaded by the JMH class loader as they are.
+ * Architectury resolves the current environment through Fabric's launcher, so one has to exist for
+ * anything touching {@code EnvExecutor} to work outside a game.
+ */
+final class HeadlessLauncher extends FabricLauncherBase {
+    private final ClassLoader classLoader = HeadlessLauncher.class.getClassLoader();
+    
+    @Override
+    public void addToClassPath(Path path, String... allowedPrefixes) {
+    }
+    
+    @Override
+    public void setAllowedPrefixes(Path path, String... prefixes) {
+    }
+    
+    @Override
+    public void setValidParentClassPath(Collection<Path> paths) {
+    }
+    
+    @Override
+    public EnvType getEnvironmentType() {
+        return EnvType.CLIENT;
+    }
+    
+    @Override
+    public boolean isClassLoaded(String name) {
+        return false;
+    }
+    
+    @Override
+    public Class<?> loadIntoTarget(String name) throws ClassNotFoundException {
+        return Class.forName(name, true, classLoader);
+    }
+    
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        return classLoader.getResourceAsStream(name);
+    }
+    
+    @Override
+    public ClassLoader getTargetClassLoader() {
+        return classLoader;
+    }
+    
+    @Override
+    public byte[] getClassByteArray(String name, boolean runTransformers) throws IOException {
+        try (InputStream stream = classLoader.getResourceAsStream(name.replace('.', '/') + ".class")) {
+            return stream == null ? null : stream.readAllBytes();
+        }
+    }
+    
+    @Override
+    public Manifest getManifest(Path originPath) {
+        return null;
+    }
+    
+    @Override
+    public boolean isDevelopment() {
+        return true;
+    }
+    
+    @Override
+    public String getEntrypoint() {
+        return "net.minecraft.client.main.Main";
+    }
+    
+    @Override
+    public String getTargetNamespace() {
+        return "named";
+    }
+    
+    @Override
+    public List<Path> getClassPath() {
+        List<Path> paths = new ArrayList<>();
+        for (String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            paths.add(Paths.get(path));
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks.fixture;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import me.shedaniel.math.Rectangle;
+import me.shedaniel.rei.api.client.entry.renderer.EntryRenderer;
+import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
+import me.shedaniel.rei.api.client.gui.widgets.TooltipContext;
+import me.shedaniel.rei.api.common.entry.EntrySerializer;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.entry.comparison.ComparisonContext;
+import me.shedaniel.rei.api.common.entry.type.EntryDefinition;
+import me.shedaniel.rei.api.common.entry.type.EntryType;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * A headless stand-in for the item entry definition, the values carry an optional tag
+ * so exact and fuzzy hashes diverge the way they do for items with NBT.
+ */
+public class SyntheticEntryDefinition implements EntryDefinition<SyntheticEntryDefinition.Value>, EntrySerializer<SyntheticEntryDefinition.Value> {
+    public static final ResourceLocation ID = new ResourceLocation("rei_benchmarks", "synthetic");
+    public static final EntryType<Value> TYPE = EntryType.deferred(ID);
+    public static final SyntheticEntryDefinition INSTANCE = new SyntheticEntryDefinition();
+    
+    public record Value(ResourceLocation id, String name, @Nullable CompoundTag tag) {
+        public Value withTag(@Nullable CompoundTag tag) {
+            return new Value(id, name, tag);
+        }
+    }
+    
+    @Override
+    public Class<Value> getValueType() {
+        return Value.class;
+    }
+    
+    @Override
+    public EntryType<Value> getType() {
+        return TYPE;
+    }
+    
+    @Override
+    public EntryRenderer<Value> getRenderer() {
+        return Renderer.INSTANCE;
+    }
+    
+    @Override
+    public ResourceLocation getIdentifier(EntryStack<Value> entry, Value value) {
+        return value.id();
+    }
+    
+    @Override
+    public boolean isEmpty(EntryStack<Value> entry, Value value) {
+        return false;
+    }
+    
+    @Override
+    public Value copy(EntryStack<Value> entry, Value value) {
+        return value.tag() == null ? value : value.withTag(value.tag().copy());
+    }
+    
+    @Override
+    public Value normalize(EntryStack<Value> entry, Value value) {
+        return value;
+    }
+    
+    @Override
+    public Value wildcard(EntryStack<Value> entry, Value value) {
+        return value.withTag(null);
+    }
+    
+    @Override
+    public long hash(EntryStack<Value> entry, Value value, ComparisonContext context) {
+        long hash = value.id().hashCode();
+        if (context.isExact()) {
+            hash = hash * 31 + Objects.hashCode(value.tag());
+        }
+        return hash;
+    }
+    
+    @Override
+    public boolean equals(Value o1, Value o2, ComparisonContext context) {
+        return o1.id().equals(o2.id()) && (!context.isExact() || Objects.equals(o1.tag(), o2.tag()));
+    }
+    
+    @Override
+    public EntrySerializer<Value> getSerializer() {
+        return this;
+    }
+    
+    @Override
+    public Component asFormattedText(EntryStack<Value> entry, Value value) {
+        return Component.literal(value.name());
+    }
+    
+    @Override
+    public Stream<? extends TagKey<?>> getTagsFor(EntryStack<Value> entry, Value value) {
+        return Stream.empty();
+    }
+    
+    @Override
+    public boolean supportSaving() {
+        return true;
+    }
+    
+    @Override
+    public boolean supportReading() {
+        return true;
+    }
+    
+    @Override
+    public CompoundTag save(EntryStack<Value> entry, Value value) {
+        CompoundTag tag = new CompoundTag();
+        tag.putString("id", value.id().toString());
+        tag.putString("name", value.name());
+        if (value.tag() != null) {
+            tag.put("tag", value.tag().copy());
+        }
+        return tag;
+    }
+    
+    @Override
+    public Value read(CompoundTag tag) {
+        return new Value(new ResourceLocation(tag.getString("id")), tag.getString("name"),
+                tag.contains("tag") ? tag.getCompound("tag") : null);
+    }
+    
+    private enum Renderer implements EntryRenderer<Value> {
+        INSTANCE;
+        
+        @Override
+        public void render(EntryStack<Value> entry, PoseStack matrices, Rectangle bounds, int mouseX, int mouseY, float delta) {
+        }
+        
+        @Override
+        @Nullable
+        public Tooltip getTooltip(EntryStack<Value> entry, TooltipContext context) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks.fixture;
+
+import me.shedaniel.rei.api.client.registry.category.CategoryRegistry;
+import me.shedaniel.rei.api.client.registry.display.DisplayRegistry;
+import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
+import me.shedaniel.rei.api.common.category.CategoryIdentifier;
+import me.shedaniel.rei.api.common.entry.EntryIngredient;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Builds registries of a given size out of {@link SyntheticEntryDefinition} stacks, the output only depends on the sizes.
+ */
+public final class SyntheticRegistries {
+    public static final long SEED = 0x5EEDL;
+    /**
+     * The number of stacks sharing an id, the first one has no tag and the others differ by their tag.
+     */
+    public static final int VARIANTS = 4;
+    private static final String[] MATERIALS = {"iron", "gold", "copper", "tin", "oak", "birch", "spruce", "stone",
+            "granite", "diamond", "emerald", "obsidian", "redstone", "quartz", "lapis", "coal"};
+    private static final String[] SHAPES = {"ingot", "nugget", "block", "plate", "gear", "rod", "wire", "dust",
+            "ore", "plank", "slab", "stairs", "fence", "door", "pickaxe", "sword"};
+    private static final String[] COLORS = {"white", "orange", "magenta", "light_blue", "yellow", "lime", "pink", "gray"};
+    private static final int NAMESPACES = 64;
+    
+    private SyntheticRegistries() {}
+    
+    public static List<EntryStack<?>> createStacks(int count) {
+        List<EntryStack<?>> stacks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int base = i / VARIANTS;
+            int variant = i % VARIANTS;
+            String material = MATERIALS[base % MATERIALS.length];
+            String shape = SHAPES[base / MATERIALS.length % SHAPES.length];
+            int tier = base / (MATERIALS.length * SHAPES.length);
+            ResourceLocation id = new ResourceLocation("mod" + base % NAMESPACES, material + "_" + shape + "_" + tier);
+            CompoundTag tag = null;
+            if (variant != 0) {
+                tag = new CompoundTag();
+                tag.putInt("Variant", variant);
+                tag.putString("Color", COLORS[(base + variant) % COLORS.length]);
+            }
+            String name = capitalize(material) + " " + capitalize(shape) + " " + tier;
+            stacks.add(EntryStack.of(SyntheticEntryDefinition.INSTANCE, new SyntheticEntryDefinition.Value(id, name, tag)));
+        }
+        return stacks;
+    }
+    
+    /**
+     * Creates displays with 1 to 9 inputs of 1 to 3 alternatives each, the stacks are picked with a bias
+     * towards the start of the list, so the first stacks are used by many displays like common materials are.
+     */
+    public static List<SyntheticDisplay> createDisplays(List<EntryStack<?>> stacks, List<CategoryIdentifier<SyntheticDisplay>> categories, int count) {
+        Random random = new Random(SEED);
+        List<SyntheticDisplay> displays = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int inputCount = 1 + random.nextInt(9);
+            List<EntryIngredient> inputs = new ArrayList<>(inputCount);
+            for (int j = 0; j < inputCount; j++) {
+                int alternatives = 1 + random.nextInt(3);
+                EntryIngredient.Builder builder = EntryIngredient.builder(alternatives);
+                for (int k = 0; k < alternatives; k++) {
+                    builder.add(pick(stacks, random));
+                }
+                inputs.add(builder.build());
+            }
+            List<EntryIngredient> outputs = List.of(EntryIngredient.of(stacks.get(random.nextInt(stacks.size()))));
+            displays.add(new SyntheticDisplay(categories.get(i % categories.size()), inputs, outputs));
+        }
+        return displays;
+    }
+    
+    public static void registerEntries(List<EntryStack<?>> stacks) {
+        EntryRegistry registry = EntryRegistry.getInstance();
+        registry.startReload();
+        registry.addEntries(stacks);
+        registry.endReload();
+    }
+    
+    /**
+     * Registers the categories, each with one of the stacks as its workstation.
+     */
+    public static List<CategoryIdentifier<SyntheticDisplay>> registerCategories(List<EntryStack<?>> stacks, int count) {
+        CategoryRegistry registry = CategoryRegistry.getInstance();
+        List<CategoryIdentifier<SyntheticDisplay>> categories = new ArrayList<>(count);
+        registry.startReload();
+        for (int i = 0; i < count; i++) {
+            CategoryIdentifier<SyntheticDisplay> identifier = CategoryIdentifier.of("rei_benchmarks", "category_" + i);
+            EntryStack<?> workstation = stacks.get(i * 31 % stacks.size());
+            registry.add(new SyntheticCategory(identifier, workstation), configuration -> configuration.addWorkstations(EntryIngredient.of(workstation)));
+            categories.add(identifier);
+        }
+        registry.endReload();
+        return categories;
+    }
+    
+    public static void registerDisplays(List<SyntheticDisplay> displays) {
+        DisplayRegistry registry = DisplayRegistry.getInstance();
+        registry.startReload();
+        for (SyntheticDisplay display : displays) {
+            registry.add(display);
+        }
+        registry.endReload();
+    }
+    
+    private static EntryStack<?> pick(List<EntryStack<?>> stacks, Random random) {
+        double value = random.nextDouble();
+        return stacks.get((int) (value * value * value * stacks.size()));
+    }
+    
+    private static String capitalize(String str) {
+        return str.substring(0, 1).toUpperCase(Locale.ROOT) + str.substring(1);
+    }
+}
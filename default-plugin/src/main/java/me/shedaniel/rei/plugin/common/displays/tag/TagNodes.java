@@ -23,6 +23,7 @@
 
 package me.shedaniel.rei.plugin.common.displays.tag;
 
+import com.google.common.hash.Hashing;
 import com.mojang.serialization.DataResult;
 import dev.architectury.event.events.client.ClientLifecycleEvent;
 import dev.architectury.networking.NetworkManager;
@@ -32,6 +33,8 @@ import dev.architectury.utils.EnvExecutor;
 import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.Minecraft;
@@ -45,15 +48,19 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.tags.TagKey;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.ByteArrayOutputStream;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 @ApiStatus.Internal
 public class TagNodes {
-    public static final ResourceLocation REQUEST_TAGS_PACKET_C2S = new ResourceLocation("roughlyenoughitems", "request_tags_c2s");
-    public static final ResourceLocation REQUEST_TAGS_PACKET_S2C = new ResourceLocation("roughlyenoughitems", "request_tags_s2c");
+    public static final ResourceLocation REQUEST_TAGS_PACKET_C2S = new ResourceLocation("roughlyenoughitems", "request_tags_v2_c2s");
+    public static final ResourceLocation REQUEST_TAGS_PACKET_S2C = new ResourceLocation("roughlyenoughitems", "request_tags_v2_s2c");
     
     public static final Map<String, ResourceKey<? extends Registry<?>>> TAG_DIR_MAP = new HashMap<>();
     public static final ThreadLocal<String> CURRENT_TAG_DIR = new ThreadLocal<>();
@@ -83,38 +90,128 @@ public class TagNodes {
     }
     
     public record TagData(IntList otherElements, List<ResourceLocation> otherTags) {
-        private static TagData fromNetwork(FriendlyByteBuf buf) {
-            int count = buf.readVarInt();
-            IntList otherElements = new IntArrayList(count + 1);
-            for (int i = 0; i < count; i++) {
-                otherElements.add(buf.readVarInt());
+    }
+    
+    private static void writeResourceLocation(FriendlyByteBuf buf, ResourceLocation location) {
+        if (location.getNamespace().equals("minecraft")) {
+            buf.writeUtf(location.getPath());
+        } else {
+            buf.writeUtf(location.toString());
+        }
+    }
+    
+    /**
+     * A deflate-compressed snapshot of the tag data of a registry.
+     * <p>
+     * Every tag id is written once into a string table, tags and their child tags refer to it by index.
+     * The content hash is of the uncompressed data, and lets clients skip downloading a snapshot they already have.
+     */
+    private record TagSnapshot(Map<ResourceLocation, TagData> source, int sourceSize, long hash, int uncompressedSize, byte[] compressed) {
+        private static final int VERSION = 1;
+        
+        private static TagSnapshot create(Map<ResourceLocation, TagData> dataMap) {
+            Object2IntMap<ResourceLocation> stringTable = new Object2IntLinkedOpenHashMap<>();
+            stringTable.defaultReturnValue(-1);
+            for (Map.Entry<ResourceLocation, TagData> entry : dataMap.entrySet()) {
+                stringTable.putIfAbsent(entry.getKey(), stringTable.size());
+                for (ResourceLocation tag : entry.getValue().otherTags()) {
+                    stringTable.putIfAbsent(tag, stringTable.size());
+                }
             }
-            count = buf.readVarInt();
-            List<ResourceLocation> otherTags = new ArrayList<>(count + 1);
-            for (int i = 0; i < count; i++) {
-                otherTags.add(buf.readResourceLocation());
+            
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            buf.writeVarInt(VERSION);
+            buf.writeVarInt(stringTable.size());
+            for (ResourceLocation location : stringTable.keySet()) {
+                writeResourceLocation(buf, location);
+            }
+            buf.writeVarInt(dataMap.size());
+            for (Map.Entry<ResourceLocation, TagData> entry : dataMap.entrySet()) {
+                buf.writeVarInt(stringTable.getInt(entry.getKey()));
+                TagData data = entry.getValue();
+                buf.writeVarInt(data.otherElements().size());
+                for (int element : data.otherElements()) {
+                    buf.writeVarInt(element);
+                }
+                buf.writeVarInt(data.otherTags().size());
+                for (ResourceLocation tag : data.otherTags()) {
+                    buf.writeVarInt(stringTable.getInt(tag));
+                }
+            }
+            
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            buf.release();
+            long hash = Hashing.murmur3_128().hashBytes(bytes).asLong();
+            
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 16);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
             }
-            return new TagData(otherElements, otherTags);
+            deflater.end();
+            return new TagSnapshot(dataMap, dataMap.size(), hash, bytes.length, out.toByteArray());
         }
         
-        private void toNetwork(FriendlyByteBuf buf) {
-            buf.writeVarInt(otherElements.size());
-            for (int integer : otherElements) {
-                buf.writeVarInt(integer);
+        private static Map<ResourceLocation, TagData> read(int uncompressedSize, byte[] compressed) throws DataFormatException {
+            Inflater inflater = new Inflater();
+            inflater.setInput(compressed);
+            byte[] bytes = new byte[uncompressedSize];
+            int read = 0;
+            while (read < uncompressedSize && !inflater.finished()) {
+                int inflated = inflater.inflate(bytes, read, uncompressedSize - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                read += inflated;
             }
-            buf.writeVarInt(otherTags.size());
-            for (ResourceLocation tag : otherTags) {
-                writeResourceLocation(buf, tag);
+            inflater.end();
+            if (read != uncompressedSize) {
+                throw new DataFormatException("Expected " + uncompressedSize + " bytes of tag data, got " + read);
             }
+            
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(bytes));
+            int version = buf.readVarInt();
+            if (version != VERSION) {
+                throw new DataFormatException("Unsupported tag data version " + version);
+            }
+            int count = buf.readVarInt();
+            ResourceLocation[] stringTable = new ResourceLocation[count];
+            for (int i = 0; i < count; i++) {
+                stringTable[i] = buf.readResourceLocation();
+            }
+            count = buf.readVarInt();
+            Map<ResourceLocation, TagData> map = new HashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                ResourceLocation key = stringTable[buf.readVarInt()];
+                int elementCount = buf.readVarInt();
+                IntList otherElements = new IntArrayList(elementCount + 1);
+                for (int j = 0; j < elementCount; j++) {
+                    otherElements.add(buf.readVarInt());
+                }
+                int tagCount = buf.readVarInt();
+                List<ResourceLocation> otherTags = new ArrayList<>(tagCount + 1);
+                for (int j = 0; j < tagCount; j++) {
+                    otherTags.add(stringTable[buf.readVarInt()]);
+                }
+                map.put(key, new TagData(otherElements, otherTags));
+            }
+            return map;
         }
     }
     
-    private static void writeResourceLocation(FriendlyByteBuf buf, ResourceLocation location) {
-        if (location.getNamespace().equals("minecraft")) {
-            buf.writeUtf(location.getPath());
-        } else {
-            buf.writeUtf(location.toString());
-        }
+    private static final Map<ResourceKey<? extends Registry<?>>, TagSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+    
+    private static TagSnapshot getSnapshot(ResourceKey<? extends Registry<?>> resourceKey) {
+        Map<ResourceLocation, TagData> dataMap = TAG_DATA_MAP.getOrDefault(resourceKey, Collections.emptyMap());
+        return SNAPSHOTS.compute(resourceKey, (key, snapshot) -> {
+            if (snapshot != null && snapshot.source() == dataMap && snapshot.sourceSize() == dataMap.size()) {
+                return snapshot;
+            }
+            
+            return TagSnapshot.create(dataMap);
+        });
     }
     
     public static void init() {
@@ -123,13 +220,18 @@ public class TagNodes {
         NetworkManager.registerReceiver(NetworkManager.c2s(), REQUEST_TAGS_PACKET_C2S, Collections.singletonList(new SplitPacketTransformer()), (buf, context) -> {
             UUID uuid = buf.readUUID();
             ResourceKey<? extends Registry<?>> resourceKey = ResourceKey.createRegistryKey(buf.readResourceLocation());
+            boolean hasCache = buf.readBoolean();
+            long cachedHash = hasCache ? buf.readLong() : 0;
+            TagSnapshot snapshot = getSnapshot(resourceKey);
             FriendlyByteBuf newBuf = new FriendlyByteBuf(Unpooled.buffer());
             newBuf.writeUUID(uuid);
-            Map<ResourceLocation, TagData> dataMap = TAG_DATA_MAP.getOrDefault(resourceKey, Collections.emptyMap());
-            newBuf.writeInt(dataMap.size());
-            for (Map.Entry<ResourceLocation, TagData> entry : dataMap.entrySet()) {
-                writeResourceLocation(newBuf, entry.getKey());
-                entry.getValue().toNetwork(newBuf);
+            newBuf.writeLong(snapshot.hash());
+            if (hasCache && cachedHash == snapshot.hash()) {
+                newBuf.writeBoolean(false);
+            } else {
+                newBuf.writeBoolean(true);
+                newBuf.writeVarInt(snapshot.uncompressedSize());
+                newBuf.writeByteArray(snapshot.compressed());
             }
             NetworkManager.sendToPlayer((ServerPlayer) context.getPlayer(), REQUEST_TAGS_PACKET_S2C, newBuf);
         });
@@ -143,52 +245,79 @@ public class TagNodes {
             callback.accept(DataResult.error("Cannot request tags from server"));
         } else if (requestedTags.containsKey(resourceKey)) {
             requestedTags.get(resourceKey).accept(callback);
-            callback.accept(DataResult.success(TAG_DATA_MAP.getOrDefault(resourceKey, Collections.emptyMap())));
         } else {
             FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
             UUID uuid = UUID.randomUUID();
             buf.writeUUID(uuid);
             buf.writeResourceLocation(resourceKey.location());
-            Client.nextUUID = uuid;
-            Client.nextResourceKey = resourceKey;
+            Client.CachedTags cached = Client.CACHE.get(resourceKey);
+            buf.writeBoolean(cached != null);
+            if (cached != null) buf.writeLong(cached.hash());
             List<Consumer<DataResult<Map<ResourceLocation, TagData>>>> callbacks = new CopyOnWriteArrayList<>();
             callbacks.add(callback);
-            Client.nextCallback = mapDataResult -> {
+            Client.PENDING.put(uuid, new Client.PendingRequest(resourceKey, mapDataResult -> {
                 requestedTags.put(resourceKey, c -> c.accept(mapDataResult));
                 for (Consumer<DataResult<Map<ResourceLocation, TagData>>> consumer : callbacks) {
                     consumer.accept(mapDataResult);
                 }
-            };
+            }));
             requestedTags.put(resourceKey, callbacks::add);
             NetworkManager.sendToServer(REQUEST_TAGS_PACKET_C2S, buf);
         }
     }
     
     private static class Client {
-        public static UUID nextUUID;
-        public static ResourceKey<? extends Registry<?>> nextResourceKey;
-        public static Consumer<DataResult<Map<ResourceLocation, TagData>>> nextCallback;
+        /**
+         * The in-flight requests, keyed by their request id, so concurrent requests for different registries are answered independently.
+         */
+        private static final Map<UUID, PendingRequest> PENDING = new ConcurrentHashMap<>();
+        /**
+         * The last received tag data of each registry, kept across worlds, reused when the server reports the same content hash.
+         */
+        private static final Map<ResourceKey<? extends Registry<?>>, CachedTags> CACHE = new ConcurrentHashMap<>();
+        
+        private record PendingRequest(ResourceKey<? extends Registry<?>> resourceKey,
+                                      Consumer<DataResult<Map<ResourceLocation, TagData>>> callback) {}
+        
+        private record CachedTags(long hash, Map<ResourceLocation, TagData> data) {}
         
         private static void init() {
             ClientLifecycleEvent.CLIENT_LEVEL_LOAD.register(world -> {
+                // Fail the in-flight requests before clearing, so their callbacks are never left waiting
+                for (UUID uuid : List.copyOf(PENDING.keySet())) {
+                    PendingRequest request = PENDING.remove(uuid);
+                    if (request != null) {
+                        request.callback().accept(DataResult.error("Tag request was interrupted by a level change"));
+                    }
+                }
                 requestedTags.clear();
             });
             NetworkManager.registerReceiver(NetworkManager.s2c(), REQUEST_TAGS_PACKET_S2C, (buf, context) -> {
                 UUID uuid = buf.readUUID();
-                if (nextUUID.equals(uuid)) {
-                    Map<ResourceLocation, TagData> map = new HashMap<>();
-                    int count = buf.readInt();
-                    for (int i = 0; i < count; i++) {
-                        map.put(buf.readResourceLocation(), TagData.fromNetwork(buf));
+                PendingRequest request = PENDING.remove(uuid);
+                if (request == null) return;
+                long hash = buf.readLong();
+                DataResult<Map<ResourceLocation, TagData>> result;
+                if (buf.readBoolean()) {
+                    int uncompressedSize = buf.readVarInt();
+                    byte[] compressed = buf.readByteArray();
+                    try {
+                        Map<ResourceLocation, TagData> map = TagSnapshot.read(uncompressedSize, compressed);
+                        CACHE.put(request.resourceKey(), new CachedTags(hash, map));
+                        result = DataResult.success(map);
+                    } catch (DataFormatException | RuntimeException e) {
+                        result = DataResult.error("Failed to read tag data: " + e.getMessage());
                     }
-                    
-                    TAG_DATA_MAP.put(nextResourceKey, map);
-                    nextCallback.accept(DataResult.success(map));
-                    
-                    nextUUID = null;
-                    nextResourceKey = null;
-                    nextCallback = null;
+                } else {
+                    CachedTags cached = CACHE.get(request.resourceKey());
+                    result = cached != null && cached.hash() == hash ? DataResult.success(cached.data()) : DataResult.error("Missing cached tag data");
                 }
+                
+                DataResult<Map<ResourceLocation, TagData>> finalResult = result;
+                context.queue(() -> {
+                    finalResult.result().ifPresent(map -> TAG_DATA_MAP.put(request.resourceKey(), map));
+                    request.callback().accept(finalResult);
+                });
             });
         }
     }
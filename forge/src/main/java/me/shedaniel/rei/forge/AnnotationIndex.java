@@ -0,0 +1,232 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.forge;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.ModList;
+import net.minecraftforge.fml.loading.FMLEnvironment;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.fml.loading.moddiscovery.ModAnnotation;
+import net.minecraftforge.forgespi.language.IModFileInfo;
+import net.minecraftforge.forgespi.language.IModInfo;
+import net.minecraftforge.forgespi.language.ModFileScanData;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.Type;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A single-pass index of the annotations in every mod file, shared by every annotation scan.
+ * <p>
+ * The entries of the annotation types that have been looked up are persisted, keyed by the mod files and the dist,
+ * so an unchanged pack skips walking the scan data on the next launch.
+ * Nothing is persisted while any mod file is a directory, since its classes can change without the directory changing.
+ * Persisting can be disabled with {@code -Drei.cacheAnnotations=false}.
+ */
+public final class AnnotationIndex {
+    private static final int VERSION = 1;
+    private static final boolean PERSIST = !"false".equals(System.getProperty("rei.cacheAnnotations"));
+    private static final Path CACHE_PATH = FMLPaths.CONFIGDIR.get().resolve("roughlyenoughitems/annotations.cache");
+    @Nullable
+    private static AnnotationIndex instance;
+    
+    /**
+     * The key of the persisted entries, {@code null} if they are not persisted.
+     */
+    @Nullable
+    private final Long key;
+    private final Map<Type, List<Entry>> entries = new HashMap<>();
+    @Nullable
+    private Map<Type, List<ScannedAnnotation>> scanned;
+    
+    /**
+     * An annotated member enabled on the current dist.
+     */
+    public record Entry(List<String> modIds, String memberName) {}
+    
+    private record ScannedAnnotation(List<String> modIds, ModFileScanData.AnnotationData data) {}
+    
+    private AnnotationIndex() {
+        this.key = PERSIST ? computeKey() : null;
+        if (key != null) {
+            load();
+        }
+    }
+    
+    public static synchronized AnnotationIndex getInstance() {
+        if (instance == null) {
+            instance = new AnnotationIndex();
+        }
+        return instance;
+    }
+    
+    /**
+     * Returns the members annotated with the annotation type that are enabled on the current dist, in mod file order.
+     */
+    public synchronized List<Entry> get(Type annotationType) {
+        List<Entry> list = entries.get(annotationType);
+        if (list != null) return list;
+        if (scanned == null) {
+            scanned = scan();
+        }
+        list = new ArrayList<>();
+        for (ScannedAnnotation annotation : scanned.getOrDefault(annotationType, Collections.emptyList())) {
+            if (isEnabled(annotation.data())) {
+                list.add(new Entry(annotation.modIds(), annotation.data().memberName()));
+            }
+        }
+        list = Collections.unmodifiableList(list);
+        entries.put(annotationType, list);
+        if (key != null) {
+            save();
+        }
+        return list;
+    }
+    
+    private static Map<Type, List<ScannedAnnotation>> scan() {
+        Map<Type, List<ScannedAnnotation>> scanned = new HashMap<>();
+        for (ModFileScanData data : ModList.get().getAllScanData()) {
+            List<String> modIds = null;
+            for (ModFileScanData.AnnotationData annotation : data.getAnnotations()) {
+                if (modIds == null) {
+                    modIds = data.getIModInfoData().stream()
+                            .flatMap(info -> info.getMods().stream())
+                            .map(IModInfo::getModId)
+                            .collect(Collectors.toUnmodifiableList());
+                }
+                scanned.computeIfAbsent(annotation.annotationType(), $ -> new ArrayList<>())
+                        .add(new ScannedAnnotation(modIds, annotation));
+            }
+        }
+        return scanned;
+    }
+    
+    private static boolean isEnabled(ModFileScanData.AnnotationData annotation) {
+        Object value = annotation.annotationData().get("value");
+        
+        if (value instanceof Dist[]) {
+            return Arrays.asList((Dist[]) value).contains(FMLEnvironment.dist);
+        } else if (value instanceof ModAnnotation.EnumHolder) {
+            return Objects.equals(((ModAnnotation.EnumHolder) value).getValue(), FMLEnvironment.dist.name());
+        } else if (value instanceof List) {
+            List<ModAnnotation.EnumHolder> holders = ((List<?>) value).stream().filter(o -> o instanceof ModAnnotation.EnumHolder)
+                    .map(o -> (ModAnnotation.EnumHolder) o).toList();
+            if (!holders.isEmpty()) {
+                return holders.stream()
+                        .anyMatch(o -> Objects.equals(o.getValue(), FMLEnvironment.dist.name()));
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Hashes the path, size and modification time of every mod file, along with the dist,
+     * returns {@code null} if any mod file is a directory or cannot be read.
+     */
+    @Nullable
+    private static Long computeKey() {
+        List<String> files = new ArrayList<>();
+        for (ModFileScanData data : ModList.get().getAllScanData()) {
+            for (IModFileInfo info : data.getIModInfoData()) {
+                Path path = info.getFile().getFilePath();
+                if (Files.isDirectory(path)) return null;
+                long size, modified;
+                try {
+                    size = Files.size(path);
+                    modified = Files.getLastModifiedTime(path).toMillis();
+                } catch (IOException | UnsupportedOperationException e) {
+                    return null;
+                }
+                files.add(path + "|" + size + "|" + modified);
+            }
+        }
+        Collections.sort(files);
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        hasher.putInt(VERSION);
+        hasher.putString(FMLEnvironment.dist.name(), StandardCharsets.UTF_8);
+        for (String file : files) {
+            hasher.putString(file, StandardCharsets.UTF_8);
+        }
+        return hasher.hash().asLong();
+    }
+    
+    private void load() {
+        if (!Files.exists(CACHE_PATH)) return;
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(CACHE_PATH)))) {
+            if (stream.readInt() != VERSION || stream.readLong() != key) return;
+            Map<Type, List<Entry>> loaded = new HashMap<>();
+            int typeCount = stream.readInt();
+            for (int i = 0; i < typeCount; i++) {
+                Type type = Type.getType(stream.readUTF());
+                int entryCount = stream.readInt();
+                List<Entry> list = new ArrayList<>(entryCount);
+                for (int j = 0; j < entryCount; j++) {
+                    String[] modIds = new String[stream.readInt()];
+                    for (int k = 0; k < modIds.length; k++) {
+                        modIds[k] = stream.readUTF();
+                    }
+                    list.add(new Entry(List.of(modIds), stream.readUTF()));
+                }
+                loaded.put(type, Collections.unmodifiableList(list));
+            }
+            entries.putAll(loaded);
+        } catch (IOException e) {
+            AnnotationUtils.LOGGER.warn("Failed to read annotation cache, rescanning annotations", e);
+        }
+    }
+    
+    private void save() {
+        try {
+            Files.createDirectories(CACHE_PATH.getParent());
+            Path tempPath = CACHE_PATH.resolveSibling(CACHE_PATH.getFileName() + ".tmp");
+            try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                stream.writeInt(VERSION);
+                stream.writeLong(key);
+                stream.writeInt(entries.size());
+                for (Map.Entry<Type, List<Entry>> entry : entries.entrySet()) {
+                    stream.writeUTF(entry.getKey().getDescriptor());
+                    stream.writeInt(entry.getValue().size());
+                    for (Entry annotation : entry.getValue()) {
+                        stream.writeInt(annotation.modIds().size());
+                        for (String modId : annotation.modIds()) {
+                            stream.writeUTF(modId);
+                        }
+                        stream.writeUTF(annotation.memberName());
+                    }
+                }
+            }
+            Files.move(tempPath, CACHE_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            AnnotationUtils.LOGGER.warn("Failed to write annotation cache", e);
+        }
+    }
+}
@@ -25,12 +25,6 @@ package me.shedaniel.rei.forge;
 
 import com.google.common.collect.Lists;
 import me.shedaniel.rei.impl.init.PrimitivePlatformAdapter;
-import net.minecraftforge.api.distmarker.Dist;
-import net.minecraftforge.fml.ModList;
-import net.minecraftforge.fml.loading.FMLEnvironment;
-import net.minecraftforge.fml.loading.moddiscovery.ModAnnotation;
-import net.minecraftforge.forgespi.language.IModInfo;
-import net.minecraftforge.forgespi.language.ModFileScanData;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
@@ -38,12 +32,9 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.util.TriConsumer;
 import org.objectweb.asm.Type;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 public class AnnotationUtils {
     public static final Logger LOGGER = LogManager.getFormatterLogger("REI");
@@ -54,61 +45,31 @@ public class AnnotationUtils {
     
     public static <T> void scanAnnotation(Type annotationType, Predicate<Class<T>> predicate, TriConsumer<List<String>, Supplier<T>, Class<T>> consumer) {
         List<Triple<List<String>, Supplier<T>, Class<T>>> instances = Lists.newArrayList();
-        for (ModFileScanData data : ModList.get().getAllScanData()) {
-            List<String> modIds = data.getIModInfoData().stream()
-                    .flatMap(info -> info.getMods().stream())
-                    .map(IModInfo::getModId)
-                    .collect(Collectors.toList());
-            out:
-            for (ModFileScanData.AnnotationData annotation : data.getAnnotations()) {
-                if (annotationType.equals(annotation.annotationType())) {
-                    Object value = annotation.annotationData().get("value");
-                    boolean enabled;
-                    
-                    if (value instanceof Dist[]) {
-                        enabled = Arrays.asList((Dist[]) value).contains(FMLEnvironment.dist);
-                    } else if (value instanceof ModAnnotation.EnumHolder) {
-                        enabled = Objects.equals(((ModAnnotation.EnumHolder) value).getValue(), FMLEnvironment.dist.name());
-                    } else if (value instanceof List) {
-                        List<ModAnnotation.EnumHolder> holders = ((List<?>) value).stream().filter(o -> o instanceof ModAnnotation.EnumHolder)
-                                .map(o -> (ModAnnotation.EnumHolder) o).toList();
-                        if (!holders.isEmpty()) {
-                            enabled = holders.stream()
-                                    .anyMatch(o -> Objects.equals(o.getValue(), FMLEnvironment.dist.name()));
-                        } else {
-                            enabled = true;
+        out:
+        for (AnnotationIndex.Entry annotation : AnnotationIndex.getInstance().get(annotationType)) {
+            try {
+                Class<T> clazz = (Class<T>) Class.forName(annotation.memberName());
+                if (predicate.test(clazz)) {
+                    instances.add(new ImmutableTriple<>(annotation.modIds(), () -> {
+                        try {
+                            return clazz.getDeclaredConstructor().newInstance();
+                        } catch (Throwable throwable) {
+                            LOGGER.error("Failed to load plugin: " + annotation.memberName(), throwable);
+                            return null;
                         }
-                    } else {
-                        enabled = true;
-                    }
-                    
-                    if (!enabled) continue;
-                    
-                    try {
-                        Class<T> clazz = (Class<T>) Class.forName(annotation.memberName());
-                        if (predicate.test(clazz)) {
-                            instances.add(new ImmutableTriple<>(modIds, () -> {
-                                try {
-                                    return clazz.getDeclaredConstructor().newInstance();
-                                } catch (Throwable throwable) {
-                                    LOGGER.error("Failed to load plugin: " + annotation.memberName(), throwable);
-                                    return null;
-                                }
-                            }, clazz));
-                        }
-                    } catch (Throwable throwable) {
-                        Throwable t = throwable;
-                        while (t != null) {
-                            if (t.getMessage() != null && t.getMessage().contains("invalid dist DEDICATED_SERVER") && !PrimitivePlatformAdapter.get().isClient()) {
-                                LOGGER.warn("Plugin " + annotation.memberName() + " is attempting to load on the server, but is not compatible with the server. " +
-                                            "The mod should declare the environments it is compatible with in the @" + annotationType.getClassName() + " annotation.");
-                                continue out;
-                            }
-                            t = t.getCause();
-                        }
-                        LOGGER.error("Failed to load plugin: " + annotation.memberName(), throwable);
+                    }, clazz));
+                }
+            } catch (Throwable throwable) {
+                Throwable t = throwable;
+                while (t != null) {
+                    if (t.getMessage() != null && t.getMessage().contains("invalid dist DEDICATED_SERVER") && !PrimitivePlatformAdapter.get().isClient()) {
+                        LOGGER.warn("Plugin " + annotation.memberName() + " is attempting to load on the server, but is not compatible with the server. " +
+                                    "The mod should declare the environments it is compatible with in the @" + annotationType.getClassName() + " annotation.");
+                        continue out;
                     }
+                    t = t.getCause();
                 }
+                LOGGER.error("Failed to load plugin: " + annotation.memberName(), throwable);
             }
         }
         
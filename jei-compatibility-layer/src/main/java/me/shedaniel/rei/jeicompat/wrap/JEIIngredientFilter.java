@@ -37,12 +37,22 @@ import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @ExtensionMethod(JEIPluginDetector.class)
 public enum JEIIngredientFilter implements IIngredientFilter {
     INSTANCE;
     
+    /**
+     * The filtered stacks grouped by type, valid as long as the filtered stacks list is the same instance with the same size.
+     * The config replaces the list when it is edited, and only normalizes it in place during refilters.
+     */
+    private final Map<EntryType<?>, List<?>> filteredCache = new HashMap<>();
+    private List<EntryStackProvider<?>> filteredCacheSource;
+    private int filteredCacheSize;
+    
     @Override
     public void setFilterText(@NotNull String filterText) {
         REIRuntime.getInstance().getSearchTextField().setText(filterText);
@@ -58,6 +68,18 @@ public enum JEIIngredientFilter implements IIngredientFilter {
     public <T> List<T> getFilteredIngredients(IIngredientType<T> ingredientType) {
         List<EntryStackProvider<?>> filteredStacks = ConfigObject.getInstance().getFilteredStackProviders();
         EntryType<T> type = ingredientType.unwrapType();
+        synchronized (filteredCache) {
+            if (filteredCacheSource != filteredStacks || filteredCacheSize != filteredStacks.size()) {
+                filteredCache.clear();
+                filteredCacheSource = filteredStacks;
+                filteredCacheSize = filteredStacks.size();
+            }
+            
+            return (List<T>) filteredCache.computeIfAbsent(type, $ -> collectFiltered(ingredientType, type, filteredStacks));
+        }
+    }
+    
+    private static <T> List<T> collectFiltered(IIngredientType<T> ingredientType, EntryType<T> type, List<EntryStackProvider<?>> filteredStacks) {
         T[] filtered = (T[]) Array.newInstance(ingredientType.getIngredientClass(), filteredStacks.size());
         int i = 0;
         for (EntryStackProvider<?> provider : filteredStacks) {
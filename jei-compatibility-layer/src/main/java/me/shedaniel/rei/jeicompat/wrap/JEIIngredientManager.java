@@ -23,15 +23,12 @@
 
 package me.shedaniel.rei.jeicompat.wrap;
 
-import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
-import it.unimi.dsi.fastutil.longs.LongSet;
+import com.google.common.collect.Lists;
 import lombok.experimental.ExtensionMethod;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
-import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.entry.type.EntryType;
 import me.shedaniel.rei.api.common.entry.type.EntryTypeRegistry;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
-import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.jeicompat.JEIPluginDetector;
 import me.shedaniel.rei.jeicompat.unwrap.JEIIngredientHelper;
 import me.shedaniel.rei.jeicompat.unwrap.JEIIngredientRenderer;
@@ -42,8 +39,6 @@ import mezz.jei.api.runtime.IIngredientManager;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 @ExtensionMethod(JEIPluginDetector.class)
 public enum JEIIngredientManager implements IIngredientManager {
@@ -53,11 +48,8 @@ public enum JEIIngredientManager implements IIngredientManager {
     @NotNull
     public <V> Collection<V> getAllIngredients(@NotNull IIngredientType<V> ingredientType) {
         EntryType<V> definition = ingredientType.unwrapType();
-        return EntryRegistry.getInstance().getEntryStacks()
-                .filter(stack -> Objects.equals(stack.getType(), definition))
-                .<EntryStack<V>>map(EntryStack::cast)
-                .map(JEIPluginDetector::jeiValue)
-                .collect(Collectors.toList());
+        // The registry returns an immutable snapshot, so the view is stable, the values are unwrapped as they are read
+        return Lists.transform(EntryRegistry.getInstance().getEntryStacks(definition), stack -> JEIPluginDetector.jeiValue(stack));
     }
     
     @Override
@@ -92,16 +84,12 @@ public enum JEIIngredientManager implements IIngredientManager {
     
     @Override
     public <V> void addIngredientsAtRuntime(@NotNull IIngredientType<V> ingredientType, @NotNull Collection<V> ingredients) {
-        EntryRegistry.getInstance().addEntries(CollectionUtils.map(ingredients, v -> v.unwrapStack(ingredientType)));
+        EntryRegistry.getInstance().queueAddEntries(CollectionUtils.map(ingredients, v -> v.unwrapStack(ingredientType)));
     }
     
     @Override
     public <V> void removeIngredientsAtRuntime(@NotNull IIngredientType<V> ingredientType, @NotNull Collection<V> ingredients) {
-        LongSet hash = new LongOpenHashSet();
-        for (V ingredient : ingredients) {
-            hash.add(EntryStacks.hashExact(ingredient.unwrapStack(ingredientType)));
-        }
-        EntryRegistry.getInstance().removeEntryExactHashIf(hash::contains);
+        EntryRegistry.getInstance().queueRemoveEntries(CollectionUtils.map(ingredients, v -> v.unwrapStack(ingredientType)));
     }
     
     @Override
@@ -72,6 +72,7 @@ import me.shedaniel.rei.impl.client.registry.screen.ScreenRegistryImpl;
 import me.shedaniel.rei.impl.client.search.SearchProviderImpl;
 import me.shedaniel.rei.impl.client.search.method.InputMethodRegistryImpl;
 import me.shedaniel.rei.impl.client.subsets.SubsetsRegistryImpl;
+import me.shedaniel.rei.impl.client.transfer.MoveItemsSender;
 import me.shedaniel.rei.impl.client.transfer.TransferHandlerRegistryImpl;
 import me.shedaniel.rei.impl.client.view.ViewsImpl;
 import me.shedaniel.rei.impl.common.InternalLogger;
@@ -235,6 +236,12 @@ public class RoughlyEnoughItemsCoreClient {
                 client.player.displayClientMessage(Component.literal(I18n.get("text.rei.cheat_items").replaceAll("\\{item_name}", EntryStacks.of(stack.copy()).asFormattedText().getString()).replaceAll("\\{item_count}", stack.copy().getCount() + "").replaceAll("\\{player_name}", player)), false);
             }
         });
+        NetworkManager.registerReceiver(NetworkManager.s2c(), RoughlyEnoughItemsNetwork.MOVE_ITEMS_RESEND_PACKET, (buf, context) -> {
+            ResourceLocation category = buf.readResourceLocation();
+            boolean shift = buf.readBoolean();
+            ResourceLocation location = buf.readResourceLocation();
+            context.queue(() -> MoveItemsSender.resend(category, shift, location));
+        });
         NetworkManager.registerReceiver(NetworkManager.s2c(), RoughlyEnoughItemsNetwork.NOT_ENOUGH_ITEMS_PACKET, (buf, context) -> {
             Screen currentScreen = Minecraft.getInstance().screen;
             if (currentScreen instanceof CraftingScreen craftingScreen) {
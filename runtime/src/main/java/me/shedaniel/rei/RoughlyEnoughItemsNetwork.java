@@ -29,7 +29,9 @@ import io.netty.buffer.Unpooled;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.impl.common.transfer.InputSlotCrafter;
+import me.shedaniel.rei.impl.common.transfer.MoveItemsSession;
 import net.minecraft.ChatFormatting;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
@@ -37,7 +39,6 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.Mth;
 import net.minecraft.world.Container;
 import net.minecraft.world.inventory.AbstractContainerMenu;
-import net.minecraft.world.inventory.InventoryMenu;
 import net.minecraft.world.inventory.RecipeBookMenu;
 import net.minecraft.world.item.ItemStack;
 
@@ -50,6 +51,8 @@ public class RoughlyEnoughItemsNetwork {
     public static final ResourceLocation CREATE_ITEMS_GRAB_PACKET = new ResourceLocation("roughlyenoughitems", "create_item_grab");
     public static final ResourceLocation CREATE_ITEMS_MESSAGE_PACKET = new ResourceLocation("roughlyenoughitems", "ci_msg");
     public static final ResourceLocation MOVE_ITEMS_PACKET = new ResourceLocation("roughlyenoughitems", "move_items");
+    public static final ResourceLocation MOVE_ITEMS_V2_PACKET = new ResourceLocation("roughlyenoughitems", "move_items_v2");
+    public static final ResourceLocation MOVE_ITEMS_RESEND_PACKET = new ResourceLocation("roughlyenoughitems", "move_items_resend");
     public static final ResourceLocation NOT_ENOUGH_ITEMS_PACKET = new ResourceLocation("roughlyenoughitems", "og_not_enough");
     
     public static void onInitialize() {
@@ -116,36 +119,79 @@ public class RoughlyEnoughItemsNetwork {
         });
         NetworkManager.registerReceiver(NetworkManager.c2s(), MOVE_ITEMS_PACKET, Collections.singletonList(new SplitPacketTransformer()), (packetByteBuf, context) -> {
             ServerPlayer player = (ServerPlayer) context.getPlayer();
-            CategoryIdentifier<Display> category = CategoryIdentifier.of(packetByteBuf.readResourceLocation());
-            AbstractContainerMenu container = player.containerMenu;
-            InventoryMenu playerContainer = player.inventoryMenu;
+            if (!MoveItemsSession.get(player).tryAcquire()) return;
             try {
+                CategoryIdentifier<Display> category = CategoryIdentifier.of(packetByteBuf.readResourceLocation());
                 boolean shift = packetByteBuf.readBoolean();
-                try {
-                    InputSlotCrafter<AbstractContainerMenu, Container, Display> crafter = InputSlotCrafter.start(category, container, player, packetByteBuf.readAnySizeNbt(), shift);
-                } catch (InputSlotCrafter.NotEnoughMaterialsException e) {
-                    if (!(container instanceof RecipeBookMenu)) {
-                        return;
-                    }
-                    // TODO Implement Ghost Recipes
-                    /*FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
-                    buf.writeInt(input.size());
-                    for (List<ItemStack> stacks : input) {
-                        buf.writeInt(stacks.size());
-                        for (ItemStack stack : stacks) {
-                            buf.writeItem(stack);
+                moveItems(player, category, shift, packetByteBuf.readAnySizeNbt());
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+        NetworkManager.registerReceiver(NetworkManager.c2s(), MOVE_ITEMS_V2_PACKET, Collections.singletonList(new SplitPacketTransformer()), (packetByteBuf, context) -> {
+            ServerPlayer player = (ServerPlayer) context.getPlayer();
+            MoveItemsSession session = MoveItemsSession.get(player);
+            try {
+                int size = packetByteBuf.readVarInt();
+                if (size > MoveItemsSession.MAX_BATCH_SIZE) {
+                    throw new IllegalArgumentException("Too many move item operations: " + size);
+                }
+                for (int i = 0; i < size; i++) {
+                    ResourceLocation categoryId = packetByteBuf.readResourceLocation();
+                    boolean shift = packetByteBuf.readBoolean();
+                    ResourceLocation location = packetByteBuf.readBoolean() ? packetByteBuf.readResourceLocation() : null;
+                    CompoundTag tag = packetByteBuf.readBoolean() ? packetByteBuf.readAnySizeNbt() : null;
+                    if (!session.tryAcquire()) continue;
+                    if (location != null) {
+                        MoveItemsSession.DisplayKey key = new MoveItemsSession.DisplayKey(categoryId, location);
+                        if (tag != null) {
+                            session.remember(key, tag);
+                        } else {
+                            tag = session.lookup(key);
+                            if (tag == null) {
+                                // The display was evicted or never sent, ask the client for the full display
+                                FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+                                buf.writeResourceLocation(categoryId);
+                                buf.writeBoolean(shift);
+                                buf.writeResourceLocation(location);
+                                NetworkManager.sendToPlayer(player, MOVE_ITEMS_RESEND_PACKET, buf);
+                                continue;
+                            }
                         }
                     }
-                    NetworkManager.sendToPlayer(player, NOT_ENOUGH_ITEMS_PACKET, buf);*/
-                } catch (IllegalStateException e) {
-                    player.sendSystemMessage(Component.translatable(e.getMessage()).withStyle(ChatFormatting.RED));
-                } catch (Exception e) {
-                    player.sendSystemMessage(Component.translatable("error.rei.internal.error", e.getMessage()).withStyle(ChatFormatting.RED));
-                    e.printStackTrace();
+                    if (tag != null) {
+                        moveItems(player, CategoryIdentifier.of(categoryId), shift, tag);
+                    }
                 }
             } catch (Exception e) {
                 e.printStackTrace();
             }
         });
     }
+    
+    private static void moveItems(ServerPlayer player, CategoryIdentifier<Display> category, boolean shift, CompoundTag tag) {
+        AbstractContainerMenu container = player.containerMenu;
+        try {
+            InputSlotCrafter<AbstractContainerMenu, Container, Display> crafter = InputSlotCrafter.start(category, container, player, tag, shift);
+        } catch (InputSlotCrafter.NotEnoughMaterialsException e) {
+            if (!(container instanceof RecipeBookMenu)) {
+                return;
+            }
+            // TODO Implement Ghost Recipes
+            /*FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            buf.writeInt(input.size());
+            for (List<ItemStack> stacks : input) {
+                buf.writeInt(stacks.size());
+                for (ItemStack stack : stacks) {
+                    buf.writeItem(stack);
+                }
+            }
+            NetworkManager.sendToPlayer(player, NOT_ENOUGH_ITEMS_PACKET, buf);*/
+        } catch (IllegalStateException e) {
+            player.sendSystemMessage(Component.translatable(e.getMessage()).withStyle(ChatFormatting.RED));
+        } catch (Exception e) {
+            player.sendSystemMessage(Component.translatable("error.rei.internal.error", e.getMessage()).withStyle(ChatFormatting.RED));
+            e.printStackTrace();
+        }
+    }
 }
@@ -49,6 +49,7 @@ import me.shedaniel.rei.api.common.util.FormattingUtils;
 import me.shedaniel.rei.impl.ClientInternals;
 import me.shedaniel.rei.impl.client.gui.screen.CompositeDisplayViewingScreen;
 import me.shedaniel.rei.impl.client.gui.screen.DefaultDisplayViewingScreen;
+import me.shedaniel.rei.impl.client.transfer.MoveItemsSender;
 import me.shedaniel.rei.impl.client.view.ViewsImpl;
 import me.shedaniel.rei.impl.display.DisplaySpec;
 import net.fabricmc.api.EnvType;
@@ -359,7 +360,7 @@ public class ClientHelperImpl implements ClientHelper {
     
     @Override
     public boolean canUseMovePackets() {
-        return NetworkManager.canServerReceive(RoughlyEnoughItemsNetwork.MOVE_ITEMS_PACKET);
+        return MoveItemsSender.canSend();
     }
     
     public void onInitializeClient() {
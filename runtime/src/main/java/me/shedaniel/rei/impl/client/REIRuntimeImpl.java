@@ -29,6 +29,7 @@ import com.mojang.blaze3d.platform.Window;
 import com.mojang.blaze3d.systems.RenderSystem;
 import dev.architectury.event.EventResult;
 import dev.architectury.event.events.client.ClientGuiEvent;
+import dev.architectury.event.events.client.ClientLifecycleEvent;
 import dev.architectury.event.events.client.ClientTickEvent;
 import dev.architectury.platform.Platform;
 import me.shedaniel.math.Rectangle;
@@ -41,13 +42,18 @@ import me.shedaniel.rei.api.client.gui.screen.DisplayScreen;
 import me.shedaniel.rei.api.client.gui.widgets.TextField;
 import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
 import me.shedaniel.rei.api.client.overlay.ScreenOverlay;
+import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.client.registry.screen.ScreenRegistry;
 import me.shedaniel.rei.api.common.registry.ReloadStage;
+import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
 import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
 import me.shedaniel.rei.impl.client.gui.hints.HintProvider;
 import me.shedaniel.rei.impl.client.gui.widget.CachedEntryListRender;
 import me.shedaniel.rei.impl.client.gui.widget.search.OverlaySearchField;
 import me.shedaniel.rei.impl.client.search.argument.Argument;
+import me.shedaniel.rei.impl.client.transfer.MoveItemsSender;
+import me.shedaniel.rei.impl.client.util.TimeSlicedExecutor;
+import me.shedaniel.rei.impl.common.entry.type.EntryRegistryImpl;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.Minecraft;
@@ -256,6 +262,7 @@ public class REIRuntimeImpl implements REIRuntime {
     @Override
     public void startReload() {
         Argument.SEARCH_CACHE.clear();
+        Argument.invalidateBakedQueries();
         getOverlay().ifPresent(ScreenOverlay::queueReloadOverlay);
         lastDisplayScreen.clear();
         if (!RenderSystem.isOnRenderThread()) {
@@ -273,6 +280,7 @@ public class REIRuntimeImpl implements REIRuntime {
     @Override
     public void endReload(ReloadStage stage) {
         Argument.SEARCH_CACHE.clear();
+        Argument.invalidateBakedQueries();
         getOverlay().ifPresent(ScreenOverlay::queueReloadOverlay);
     }
     
@@ -282,7 +290,12 @@ public class REIRuntimeImpl implements REIRuntime {
                 previousContainerScreen = containerScreen;
             return EventResult.pass();
         });
+        ClientLifecycleEvent.CLIENT_STOPPING.register(minecraft -> ConfigManagerImpl.getInstance().flushConfig());
         ClientTickEvent.CLIENT_POST.register(minecraft -> {
+            ((EntryRegistryImpl) EntryRegistry.getInstance()).flushQueuedEntries();
+            TimeSlicedExecutor.tick();
+            MoveItemsSender.flush();
+            ConfigManagerImpl.getInstance().tick();
             if (isOverlayVisible() && REIRuntime.getInstance().getOverlay().isPresent()) {
                 ScreenOverlayImpl.getInstance().tick();
             }
@@ -34,7 +34,6 @@ import me.shedaniel.autoconfig.AutoConfig;
 import me.shedaniel.autoconfig.annotation.ConfigEntry;
 import me.shedaniel.autoconfig.gui.ConfigScreenProvider;
 import me.shedaniel.autoconfig.gui.registry.GuiRegistry;
-import me.shedaniel.autoconfig.serializer.JanksonConfigSerializer;
 import me.shedaniel.autoconfig.util.Utils;
 import me.shedaniel.cloth.clothconfig.shadowed.blue.endless.jankson.Jankson;
 import me.shedaniel.cloth.clothconfig.shadowed.blue.endless.jankson.JsonNull;
@@ -71,6 +70,7 @@ import me.shedaniel.rei.impl.common.InternalLogger;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.ChatFormatting;
+import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.components.Button;
 import net.minecraft.client.gui.components.events.GuiEventListener;
@@ -97,12 +97,27 @@ import static me.shedaniel.autoconfig.util.Utils.setUnsafely;
 @ApiStatus.Internal
 @Environment(EnvType.CLIENT)
 public class ConfigManagerImpl implements ConfigManager {
+    /**
+     * Saves are coalesced until no save has been requested for this long.
+     */
+    private static final long SAVE_DELAY = 1000;
+    /**
+     * A save is never delayed for longer than this, even if saves keep being requested.
+     */
+    private static final long MAX_SAVE_DELAY = 5000;
     private boolean craftableOnly = false;
     private final Gson gson = new GsonBuilder().create();
     private ConfigObjectImpl object;
+    private ConfigSerializerImpl serializer;
+    private long firstSaveRequest = -1;
+    private long lastSaveRequest = -1;
     
     public ConfigManagerImpl() {
-        AutoConfig.register(ConfigObjectImpl.class, (definition, configClass) -> new JanksonConfigSerializer<>(definition, configClass, buildJankson(Jankson.builder())));
+        AutoConfig.register(ConfigObjectImpl.class, (definition, configClass) -> serializer = new ConfigSerializerImpl(definition, configClass, buildJankson(Jankson.builder())));
+        AutoConfig.getConfigHolder(ConfigObjectImpl.class).registerLoadListener((configHolder, configObject) -> {
+            object = configObject;
+            return InteractionResult.PASS;
+        });
         GuiRegistry guiRegistry = AutoConfig.getGuiRegistry(ConfigObjectImpl.class);
         guiRegistry.registerPredicateProvider((i13n, field, config, defaults, guiProvider) -> {
             if (field.isAnnotationPresent(ConfigEntry.Gui.Excluded.class))
@@ -293,15 +308,50 @@ public class ConfigManagerImpl implements ConfigManager {
         return (ConfigManagerImpl) ConfigManager.getInstance();
     }
     
+    /**
+     * Requests the config to be saved, the save is debounced and performed on the next
+     * {@link #tick()} after {@link #SAVE_DELAY} has passed without further requests.
+     */
     @Override
     public void saveConfig() {
         if (getConfig().getFilteringRules().stream().noneMatch(filteringRule -> filteringRule instanceof ManualFilteringRule)) {
             getConfig().getFilteringRules().add(new ManualFilteringRule());
         }
-        AutoConfig.getConfigHolder(ConfigObjectImpl.class).registerLoadListener((configHolder, configObject) -> {
-            object = configObject;
-            return InteractionResult.PASS;
-        });
+        synchronized (this) {
+            long now = Util.getMillis();
+            if (firstSaveRequest == -1) firstSaveRequest = now;
+            lastSaveRequest = now;
+        }
+    }
+    
+    /**
+     * Performs the pending save if it is due, called every client tick.
+     */
+    public void tick() {
+        synchronized (this) {
+            if (firstSaveRequest == -1) return;
+            long now = Util.getMillis();
+            if (now - lastSaveRequest < SAVE_DELAY && now - firstSaveRequest < MAX_SAVE_DELAY) return;
+            firstSaveRequest = lastSaveRequest = -1;
+        }
+        saveConfigNow();
+    }
+    
+    /**
+     * Performs the pending save immediately, and waits for it to be written to the disk.
+     */
+    public void flushConfig() {
+        synchronized (this) {
+            if (firstSaveRequest == -1) return;
+            firstSaveRequest = lastSaveRequest = -1;
+        }
+        saveConfigNow();
+        if (serializer != null) {
+            serializer.awaitWrites();
+        }
+    }
+    
+    private void saveConfigNow() {
         AutoConfig.getConfigHolder(ConfigObjectImpl.class).save();
         InternalLogger.getInstance().debug("Config saved");
     }
@@ -425,6 +475,7 @@ public class ConfigManagerImpl implements ConfigManager {
                     }));
                 }).setSavingRunnable(() -> {
                     saveConfig();
+                    flushConfig();
                     EntryRegistry.getInstance().refilter();
                     REIRuntime.getInstance().getOverlay().ifPresent(ScreenOverlay::queueReloadOverlay);
                     if (REIRuntimeImpl.getSearchField() != null) {
@@ -261,6 +261,11 @@ public class ConfigObjectImpl implements ConfigObject, ConfigData {
         return advanced.miscellaneous.registerRecipesInAnotherThread;
     }
     
+    @ApiStatus.Internal
+    public boolean doesFillDisplaysInParallel() {
+        return advanced.miscellaneous.fillDisplaysInParallel;
+    }
+    
     @Override
     public boolean doesSnapToRows() {
         return false;
@@ -551,9 +556,10 @@ public class ConfigObjectImpl implements ConfigObject, ConfigData {
     }
     
     public static class Basics {
-        @ConfigEntry.Gui.Excluded public List<FavoriteEntry> favorites = new ArrayList<>();
-        @ConfigEntry.Gui.Excluded public List<FavoriteEntry> hiddenFavorites = new ArrayList<>();
-        @ConfigEntry.Gui.Excluded public List<CompoundTag> displayHistory = new ArrayList<>();
+        // Transient: these are serialized to their own files by ConfigSerializerImpl
+        @ConfigEntry.Gui.Excluded public transient List<FavoriteEntry> favorites = new ArrayList<>();
+        @ConfigEntry.Gui.Excluded public transient List<FavoriteEntry> hiddenFavorites = new ArrayList<>();
+        @ConfigEntry.Gui.Excluded public transient List<CompoundTag> displayHistory = new ArrayList<>();
         @Comment("Declares whether cheating mode is on.") @ConfigEntry.Gui.EnumHandler(option = ConfigEntry.Gui.EnumHandler.EnumDisplayOption.BUTTON)
         private CheatingMode cheating = CheatingMode.OFF;
         private boolean favoritesEnabled = true;
@@ -693,6 +699,7 @@ public class ConfigObjectImpl implements ConfigObject, ConfigData {
         public static class Miscellaneous {
             @Comment("Declares whether arrows in containers should be clickable.") private boolean clickableRecipeArrows = true;
             private boolean registerRecipesInAnotherThread = true;
+            @Comment("Declares whether REI should fill recipes into displays on multiple threads.") private boolean fillDisplaysInParallel = true;
             private boolean newFastEntryRendering = true;
             @ConfigEntry.Gui.PrefixText
             private boolean cachingFastEntryRendering = false;
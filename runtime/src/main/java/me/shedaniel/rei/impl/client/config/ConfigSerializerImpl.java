@@ -0,0 +1,234 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.config;
+
+import dev.architectury.platform.Platform;
+import me.shedaniel.autoconfig.annotation.Config;
+import me.shedaniel.autoconfig.serializer.ConfigSerializer;
+import me.shedaniel.autoconfig.util.Utils;
+import me.shedaniel.cloth.clothconfig.shadowed.blue.endless.jankson.Jankson;
+import me.shedaniel.cloth.clothconfig.shadowed.blue.endless.jankson.JsonObject;
+import me.shedaniel.cloth.clothconfig.shadowed.blue.endless.jankson.api.SyntaxError;
+import me.shedaniel.rei.api.client.favorites.FavoriteEntry;
+import me.shedaniel.rei.impl.common.InternalLogger;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.nbt.CompoundTag;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Serializes {@link ConfigObjectImpl} into several files, the large sections (favorites and display history) are
+ * kept in their own files, and are only rewritten when their contents have changed.
+ * The sections are queued before the main file, so the favorites and display history of older versions are never
+ * dropped from the main file before their own files exist.
+ * <p>
+ * Serialization happens on the calling thread, the actual writing is done on a background thread, through a
+ * temporary file that is atomically moved into place, so a crash mid-write never leaves a truncated config behind.
+ * Sections that fail to read are moved aside to a {@code .bak} file, instead of being overwritten with the defaults.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class ConfigSerializerImpl implements ConfigSerializer<ConfigObjectImpl> {
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "REI-ConfigWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Class<ConfigObjectImpl> configClass;
+    private final Jankson jankson;
+    private final Path configPath;
+    private final Path favoritesPath;
+    private final Path historyPath;
+    private final Map<Path, String> writtenContents = new ConcurrentHashMap<>();
+    private final Map<Path, String> pendingWrites = new ConcurrentHashMap<>();
+    private final Set<Path> blockedWrites = ConcurrentHashMap.newKeySet();
+    
+    public ConfigSerializerImpl(Config definition, Class<ConfigObjectImpl> configClass, Jankson jankson) {
+        this.configClass = configClass;
+        this.jankson = jankson;
+        Path configFolder = Platform.getConfigFolder();
+        this.configPath = configFolder.resolve(definition.name() + ".json5");
+        this.favoritesPath = configFolder.resolve("roughlyenoughitems/favorites.json5");
+        this.historyPath = configFolder.resolve("roughlyenoughitems/display_history.json5");
+    }
+    
+    @Override
+    public void serialize(ConfigObjectImpl config) {
+        // The writer is FIFO, the main file is only replaced after the sections have been written
+        write(favoritesPath, jankson.toJson(FavoritesSection.of(config)).toJson(true, true));
+        write(historyPath, jankson.toJson(HistorySection.of(config)).toJson(true, true));
+        write(configPath, jankson.toJson(config).toJson(true, true));
+    }
+    
+    @Override
+    public ConfigObjectImpl deserialize() throws SerializationException {
+        if (!Files.exists(configPath)) {
+            return createDefault();
+        }
+        
+        try {
+            JsonObject json = jankson.load(configPath.toFile());
+            ConfigObjectImpl config = jankson.fromJson(json, configClass);
+            writtenContents.put(configPath, json.toJson(true, true));
+            // Older versions kept the sections in the main file, read them from there if they have not been split yet
+            JsonObject basics = json.getObject("basics");
+            FavoritesSection favorites = readSection(favoritesPath, basics, FavoritesSection.class);
+            if (favorites != null) {
+                favorites.apply(config);
+                if (Files.exists(favoritesPath)) writtenContents.put(favoritesPath, jankson.toJson(FavoritesSection.of(config)).toJson(true, true));
+            }
+            HistorySection history = readSection(historyPath, basics, HistorySection.class);
+            if (history != null) {
+                history.apply(config);
+                if (Files.exists(historyPath)) writtenContents.put(historyPath, jankson.toJson(HistorySection.of(config)).toJson(true, true));
+            }
+            return config;
+        } catch (IOException | SyntaxError e) {
+            throw new SerializationException(e);
+        }
+    }
+    
+    @Override
+    public ConfigObjectImpl createDefault() {
+        return Utils.constructUnsafely(configClass);
+    }
+    
+    @Nullable
+    private <T> T readSection(Path path, @Nullable JsonObject legacy, Class<T> sectionClass) {
+        try {
+            if (Files.exists(path)) {
+                T section = jankson.fromJson(jankson.load(path.toFile()), sectionClass);
+                blockedWrites.remove(path);
+                return section;
+            } else if (legacy != null) {
+                return jankson.fromJson(legacy, sectionClass);
+            }
+        } catch (IOException | SyntaxError e) {
+            InternalLogger.getInstance().warn("Failed to read config section " + path, e);
+            backupUnreadable(path);
+        }
+        return null;
+    }
+    
+    /**
+     * Moves an unreadable section aside before it can be overwritten by the defaults,
+     * the section is never written if it could not be moved.
+     */
+    private void backupUnreadable(Path path) {
+        Path backupPath = path.resolveSibling(path.getFileName() + ".bak");
+        try {
+            Files.move(path, backupPath, StandardCopyOption.REPLACE_EXISTING);
+            InternalLogger.getInstance().warn("Moved unreadable config section " + path + " to " + backupPath);
+        } catch (IOException e) {
+            blockedWrites.add(path);
+            InternalLogger.getInstance().warn("Failed to back up unreadable config section " + path + ", it will not be saved", e);
+        }
+    }
+    
+    private void write(Path path, String content) {
+        if (blockedWrites.contains(path)) {
+            return;
+        }
+        
+        if (content.equals(writtenContents.put(path, content)) && !pendingWrites.containsKey(path)) {
+            return;
+        }
+        
+        // Only the latest content is written if several saves are queued before the writer catches up
+        if (pendingWrites.put(path, content) == null) {
+            WRITER.execute(() -> {
+                String latest = pendingWrites.remove(path);
+                if (latest == null) return;
+                Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+                try {
+                    Files.createDirectories(path.getParent());
+                    Files.writeString(tempPath, latest, StandardCharsets.UTF_8);
+                    try {
+                        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } catch (IOException e) {
+                    writtenContents.remove(path);
+                    InternalLogger.getInstance().warn("Failed to write config " + path, e);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Blocks until every queued write has reached the disk.
+     */
+    public void awaitWrites() {
+        try {
+            WRITER.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            InternalLogger.getInstance().warn("Failed to wait for config writes", e);
+        }
+    }
+    
+    public static class FavoritesSection {
+        public List<FavoriteEntry> favorites = new ArrayList<>();
+        public List<FavoriteEntry> hiddenFavorites = new ArrayList<>();
+        
+        private static FavoritesSection of(ConfigObjectImpl config) {
+            FavoritesSection section = new FavoritesSection();
+            section.favorites = config.basics.favorites;
+            section.hiddenFavorites = config.basics.hiddenFavorites;
+            return section;
+        }
+        
+        private void apply(ConfigObjectImpl config) {
+            if (favorites != null) config.basics.favorites = favorites;
+            if (hiddenFavorites != null) config.basics.hiddenFavorites = hiddenFavorites;
+        }
+    }
+    
+    public static class HistorySection {
+        public List<CompoundTag> displayHistory = new ArrayList<>();
+        
+        private static HistorySection of(ConfigObjectImpl config) {
+            HistorySection section = new HistorySection();
+            section.displayHistory = config.basics.displayHistory;
+            return section;
+        }
+        
+        private void apply(ConfigObjectImpl config) {
+            if (displayHistory != null) config.basics.displayHistory = displayHistory;
+        }
+    }
+}
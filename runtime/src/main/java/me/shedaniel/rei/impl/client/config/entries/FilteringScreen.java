@@ -23,6 +23,7 @@
 
 package me.shedaniel.rei.impl.client.config.entries;
 
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.mojang.blaze3d.systems.RenderSystem;
@@ -38,14 +39,13 @@ import me.shedaniel.rei.api.client.REIRuntime;
 import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
 import me.shedaniel.rei.api.client.gui.widgets.TooltipContext;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
-import me.shedaniel.rei.api.client.search.SearchFilter;
-import me.shedaniel.rei.api.client.search.SearchProvider;
 import me.shedaniel.rei.api.common.entry.EntrySerializer;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
 import me.shedaniel.rei.impl.client.gui.widget.BatchedEntryRendererManager;
 import me.shedaniel.rei.impl.client.gui.widget.EntryWidget;
 import me.shedaniel.rei.impl.client.gui.widget.search.OverlaySearchField;
+import me.shedaniel.rei.impl.client.search.AsyncSearchManager;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.components.Button;
@@ -60,8 +60,9 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.Objects;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static me.shedaniel.rei.impl.client.gui.widget.entrylist.EntryListWidget.entrySize;
 
@@ -71,6 +72,7 @@ public class FilteringScreen extends Screen {
     protected final ScrollingContainer scrolling = new ScrollingContainer() {
         @Override
         public int getMaxScrollHeight() {
+            if (entryStacks == null || innerBounds == null) return 0;
             return Mth.ceil(entryStacks.size() / (innerBounds.width / (float) entrySize())) * entrySize() + 28;
         }
         
@@ -105,7 +107,10 @@ public class FilteringScreen extends Screen {
     private Button backButton;
     private Predicate<Rectangle> selectionCache;
     
-    private SearchFilter lastFilter = SearchFilter.matchAll();
+    private final AsyncSearchManager searchManager = new AsyncSearchManager(
+            Suppliers.memoize(() -> EntryRegistry.getInstance().getEntryStacks().collect(Collectors.toList())),
+            () -> FilteringScreen::isSerializable, EntryStack::normalize);
+    private String searchTerm = null;
     
     public FilteringScreen(FilteringEntry filteringEntry) {
         super(Component.translatable("config.roughlyenoughitems.filteringScreen"));
@@ -127,30 +132,28 @@ public class FilteringScreen extends Screen {
         {
             Component hideText = Component.translatable("config.roughlyenoughitems.filteredEntries.hide");
             this.hideButton = new Button(0, 0, Minecraft.getInstance().font.width(hideText) + 10, 20, hideText, button -> {
+                if (entryStacks == null) return;
                 for (int i = 0; i < entryStacks.size(); i++) {
                     EntryStack<?> stack = entryStacks.get(i);
-                    FilteringListEntry entry = entries.get(i);
-                    entry.getBounds().y = entry.backupY - scrolling.scrollAmountInt();
-                    if (entry.isSelected() && !entry.isFiltered()) {
+                    if (getSelection().test(getEntryBounds(i)) && !filteringEntry.configFiltered.contains(stack)) {
                         filteringEntry.configFiltered.add(stack);
                         filteringEntry.edited = true;
-                        entry.dirty = true;
                     }
                 }
+                markEntriesDirty();
             });
         }
         {
             Component showText = Component.translatable("config.roughlyenoughitems.filteredEntries.show");
             this.showButton = new Button(0, 0, Minecraft.getInstance().font.width(showText) + 10, 20, showText, button -> {
+                if (entryStacks == null) return;
                 for (int i = 0; i < entryStacks.size(); i++) {
                     EntryStack<?> stack = entryStacks.get(i);
-                    FilteringListEntry entry = entries.get(i);
-                    entry.getBounds().y = entry.backupY - scrolling.scrollAmountInt();
-                    if (entry.isSelected() && filteringEntry.configFiltered.remove(stack)) {
+                    if (getSelection().test(getEntryBounds(i)) && filteringEntry.configFiltered.remove(stack)) {
                         filteringEntry.edited = true;
-                        entry.dirty = true;
                     }
                 }
+                markEntriesDirty();
             });
         }
         {
@@ -210,6 +213,10 @@ public class FilteringScreen extends Screen {
     
     @Override
     public void render(PoseStack matrices, int mouseX, int mouseY, float delta) {
+        if (searchManager.pollNewSearchData()) {
+            searchManager.markDirty();
+            updateSearch(searchTerm);
+        }
         renderHoleBackground(matrices, 0, height, 32, 255, 255);
         updateSelectionCache();
         Rectangle bounds = getBounds();
@@ -219,21 +226,21 @@ public class FilteringScreen extends Screen {
         ScissorsHandler.INSTANCE.scissor(bounds);
         for (FilteringListEntry entry : entries)
             entry.clearStacks();
-        int skip = Math.max(0, Mth.floor(scrolling.scrollAmount() / (float) entrySize()));
-        int nextIndex = skip * innerBounds.width / entrySize();
-        int i = nextIndex;
-        BatchedEntryRendererManager manager = new BatchedEntryRendererManager();
-        for (; i < entryStacks.size(); i++) {
-            EntryStack<?> stack = entryStacks.get(i);
-            FilteringListEntry entry = entries.get(nextIndex);
-            entry.getBounds().y = entry.backupY - scrolling.scrollAmountInt();
-            if (entry.getBounds().y > bounds.getMaxY())
-                break;
-            entry.entry(stack);
-            manager.add(entry);
-            nextIndex++;
+        if (entryStacks != null && !entries.isEmpty()) {
+            int skip = Math.max(0, Mth.floor(scrolling.scrollAmount() / (float) entrySize()));
+            BatchedEntryRendererManager manager = new BatchedEntryRendererManager();
+            // Entries are pooled for the visible rows only, index i is always backed by the same pooled widget
+            for (int i = skip * innerBounds.width / entrySize(); i < entryStacks.size(); i++) {
+                Rectangle entryBounds = getEntryBounds(i);
+                if (entryBounds.y > bounds.getMaxY())
+                    break;
+                FilteringListEntry entry = entries.get(i % entries.size());
+                entry.getBounds().setLocation(entryBounds.x, entryBounds.y);
+                entry.stack(entryStacks.get(i));
+                manager.add(entry);
+            }
+            manager.render(matrices, mouseX, mouseY, delta);
         }
-        manager.render(matrices, mouseX, mouseY, delta);
         updatePosition(delta);
         scrolling.renderScrollBar(0, 1.0F, REIRuntime.getInstance().isDarkThemeEnabled() ? 0.8F : 1F);
         matrices.pushPose();
@@ -274,6 +281,18 @@ public class FilteringScreen extends Screen {
         this.font.drawShadow(matrices, hint, this.width - this.font.width(hint) - 15, 12.0F, -1);
     }
     
+    private Rectangle getEntryBounds(int index) {
+        int entrySize = entrySize();
+        int columns = innerBounds.width / entrySize;
+        return new Rectangle(innerBounds.x + (index % columns) * entrySize, innerBounds.y + (index / columns) * entrySize - scrolling.scrollAmountInt(), entrySize, entrySize);
+    }
+    
+    private void markEntriesDirty() {
+        for (FilteringListEntry entry : entries) {
+            entry.dirty = true;
+        }
+    }
+    
     private Predicate<Rectangle> getSelection() {
         return selectionCache;
     }
@@ -313,20 +332,27 @@ public class FilteringScreen extends Screen {
     }
     
     public void updateSearch(String searchTerm) {
-        lastFilter = SearchProvider.getInstance().createFilter(searchTerm);
-        Set<EntryStack<?>> list = Sets.newLinkedHashSet();
-        EntryRegistry.getInstance().getEntryStacks().parallel().filter(this::matches).map(EntryStack::normalize).forEachOrdered(list::add);
-        
-        entryStacks = Lists.newArrayList(list);
+        this.searchTerm = searchTerm;
         updateEntriesPosition();
+        searchManager.updateFilter(searchTerm);
+        searchManager.getAsync(list -> {
+            if (list == null) return;
+            List<EntryStack<?>> stacks = Lists.newArrayList(Sets.newLinkedHashSet(list));
+            Minecraft.getInstance().executeBlocking(() -> {
+                if (!Objects.equals(this.searchTerm, searchTerm)) return;
+                entryStacks = stacks;
+                updateEntriesPosition();
+            });
+        });
     }
     
     public boolean matches(EntryStack<?> stack) {
+        return isSerializable(stack) && searchManager.matches(stack);
+    }
+    
+    private static boolean isSerializable(EntryStack<?> stack) {
         EntrySerializer<?> serializer = stack.getDefinition().getSerializer();
-        if (serializer == null || !serializer.supportReading() || !serializer.supportSaving()) {
-            return false;
-        }
-        return lastFilter.test(stack);
+        return serializer != null && serializer.supportReading() && serializer.supportSaving();
     }
     
     public void updateEntriesPosition() {
@@ -334,19 +360,11 @@ public class FilteringScreen extends Screen {
         this.innerBounds = updateInnerBounds(getBounds());
         int width = innerBounds.width / entrySize;
         int pageHeight = innerBounds.height / entrySize;
-        int slotsToPrepare = Math.max(entryStacks.size() * 3, width * pageHeight * 3);
-        int currentX = 0;
-        int currentY = 0;
+        // Enough widgets for a page plus the partially visible rows, positions are assigned while rendering
+        int slotsToPrepare = width * (pageHeight + 2);
         List<FilteringListEntry> entries = Lists.newArrayList();
         for (int i = 0; i < slotsToPrepare; i++) {
-            int xPos = currentX * entrySize + innerBounds.x;
-            int yPos = currentY * entrySize + innerBounds.y;
-            entries.add(new FilteringListEntry(xPos, yPos, entrySize));
-            currentX++;
-            if (currentX >= width) {
-                currentX = 0;
-                currentY++;
-            }
+            entries.add(new FilteringListEntry(innerBounds.x, innerBounds.y, entrySize));
         }
         this.entries = entries;
         this.elements = Lists.newArrayList(entries);
@@ -450,13 +468,12 @@ public class FilteringScreen extends Screen {
     }
     
     private class FilteringListEntry extends EntryWidget {
-        private int backupY;
+        private EntryStack<?> lastStack;
         private boolean filtered = false;
         private boolean dirty = true;
         
         private FilteringListEntry(int x, int y, int entrySize) {
             super(new Point(x, y));
-            this.backupY = y;
             getBounds().width = getBounds().height = entrySize;
             interactableFavorites(false);
             interactable(false);
@@ -478,6 +495,14 @@ public class FilteringScreen extends Screen {
             }
         }
         
+        private void stack(EntryStack<?> stack) {
+            if (lastStack != stack) {
+                lastStack = stack;
+                dirty = true;
+            }
+            entry(stack);
+        }
+        
         public boolean isSelected() {
             return getSelection().test(getBounds());
         }
@@ -0,0 +1,117 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.entry;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mojang.blaze3d.systems.RenderSystem;
+import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
+import me.shedaniel.rei.api.client.gui.widgets.TooltipContext;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.entry.type.EntryType;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.screens.Screen;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caches the tooltip entries of stacks, shared between hovering and tooltip search indexing.
+ * <p>
+ * Entries are keyed by the exact hash of the stack, the tooltip flag, the search flag, the selected language,
+ * and the pressed modifier keys for non-search tooltips, the least recently used entries are evicted first.
+ * Entries expire shortly after being computed, as tooltips may depend on the game state.
+ * <p>
+ * Stacks overriding their renderer or tooltip through their settings should not be cached,
+ * as they share their exact hash with the plain stacks.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class EntryTooltipCache {
+    private static final int MAXIMUM_SIZE = 16384;
+    private static final long EXPIRY_SECONDS = 5;
+    private static final Cache<Key, Cached> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(EXPIRY_SECONDS, TimeUnit.SECONDS)
+            .build();
+    
+    private record Key(EntryType<?> type, long hash, boolean advanced, boolean search, String language, int modifiers) {}
+    
+    private record Cached(@Nullable List<Tooltip.Entry> entries) {}
+    
+    private EntryTooltipCache() {}
+    
+    /**
+     * Returns the tooltip entries of the stack, computing them with the supplier if they are not cached.
+     *
+     * @param stack    the stack to get the tooltip entries for
+     * @param context  the tooltip context
+     * @param supplier the supplier to compute the tooltip, the returned tooltip is not retained
+     * @return the cached tooltip entries, or {@code null} if the stack has no tooltip
+     */
+    @Nullable
+    public static List<Tooltip.Entry> get(EntryStack<?> stack, TooltipContext context, Supplier<@Nullable Tooltip> supplier) {
+        Key key = new Key(stack.getType(), EntryStacks.hashExact(stack), context.getFlag().isAdvanced(), context.isSearch(),
+                getLanguage(), context.isSearch() ? 0 : getModifiers());
+        Cached cached = CACHE.getIfPresent(key);
+        if (cached == null) {
+            Tooltip tooltip = supplier.get();
+            cached = new Cached(tooltip == null ? null : List.copyOf(tooltip.entries()));
+            CACHE.put(key, cached);
+        }
+        return cached.entries();
+    }
+    
+    /**
+     * Invalidates the cached tooltips of stacks exactly equal to the stack.
+     */
+    public static void invalidate(EntryStack<?> stack) {
+        EntryType<?> type = stack.getType();
+        long hash = EntryStacks.hashExact(stack);
+        CACHE.asMap().keySet().removeIf(key -> key.type() == type && key.hash() == hash);
+    }
+    
+    /**
+     * Invalidates every cached tooltip.
+     */
+    public static void invalidateAll() {
+        CACHE.invalidateAll();
+    }
+    
+    private static String getLanguage() {
+        return Minecraft.getInstance().getLanguageManager().getSelected().getCode();
+    }
+    
+    // Modifier keys can only be queried on the render thread
+    private static int getModifiers() {
+        if (!RenderSystem.isOnRenderThread()) return 0;
+        return (Screen.hasShiftDown() ? 1 : 0) | (Screen.hasControlDown() ? 2 : 0) | (Screen.hasAltDown() ? 4 : 0);
+    }
+}
@@ -40,6 +40,7 @@ import me.shedaniel.rei.impl.client.entry.filtering.FilteringContext;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringResult;
 import me.shedaniel.rei.impl.client.gui.widget.BatchedEntryRendererManager;
 import me.shedaniel.rei.impl.client.gui.widget.EntryWidget;
+import me.shedaniel.rei.impl.client.search.AsyncSearchManager;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.ChatFormatting;
@@ -156,7 +157,10 @@ public class SearchFilteringRule extends AbstractFilteringRule<SearchFilteringRu
         return Optional.of((entry, screen) -> new FilteringRuleOptionsScreen<SearchFilteringRule>(entry, this, screen) {
             TextFieldRuleEntry entry = null;
             BooleanRuleEntry show = null;
-            List<EntryWidget> entryStacks = new ArrayList<>();
+            List<EntryStack<?>> entryStacks = new ArrayList<>();
+            AsyncSearchManager searchManager = new AsyncSearchManager(Suppliers.memoize(() -> EntryRegistry.getInstance().getEntryStacks().collect(Collectors.toList())),
+                    () -> stack -> true, EntryStack::normalize);
+            String searchTerm = null;
     
             @Override
             public void addEntries(Consumer<RuleEntry> entryConsumer) {
@@ -165,12 +169,16 @@ public class SearchFilteringRule extends AbstractFilteringRule<SearchFilteringRu
                 entryConsumer.accept(entry = new TextFieldRuleEntry(width - 36, rule, widget -> {
                     widget.setMaxLength(9999);
                     widget.setResponder(searchTerm -> {
-                        SearchFilter filter = SearchProvider.getInstance().createFilter(searchTerm);
-                        entryStacks =  EntryRegistry.getInstance().getEntryStacks().parallel()
-                                .filter(filter)
-                                .map(EntryStack::normalize)
-                                .map(stack -> new EntryWidget(new Rectangle(0, 0, 18,18)).noBackground().entry(stack))
-                                .collect(Collectors.toList());
+                        this.searchTerm = searchTerm;
+                        searchManager.updateFilter(searchTerm);
+                        searchManager.getAsync(list -> {
+                            if (list == null) return;
+                            Minecraft.getInstance().executeBlocking(() -> {
+                                if (Objects.equals(this.searchTerm, searchTerm)) {
+                                    entryStacks = list;
+                                }
+                            });
+                        });
                     });
                     if (entry != null) widget.setValue(entry.getWidget().getValue());
                     else widget.setValue(rule.filterStr);
@@ -195,10 +203,11 @@ public class SearchFilteringRule extends AbstractFilteringRule<SearchFilteringRu
     }
     
     public static class EntryStacksRuleEntry extends FilteringRuleOptionsScreen.RuleEntry {
-        private final Supplier<List<EntryWidget>> entryStacks;
+        private final Supplier<List<EntryStack<?>>> entryStacks;
+        private final List<EntryWidget> widgets = new ArrayList<>();
         private int totalHeight;
     
-        public EntryStacksRuleEntry(SearchFilteringRule rule, Supplier<List<EntryWidget>> entryStacks, FilteringRuleOptionsScreen.TextFieldRuleEntry entry, FilteringRuleOptionsScreen.BooleanRuleEntry show) {
+        public EntryStacksRuleEntry(SearchFilteringRule rule, Supplier<List<EntryStack<?>>> entryStacks, FilteringRuleOptionsScreen.TextFieldRuleEntry entry, FilteringRuleOptionsScreen.BooleanRuleEntry show) {
             super(rule);
             this.entryStacks = entryStacks;
         }
@@ -207,17 +216,23 @@ public class SearchFilteringRule extends AbstractFilteringRule<SearchFilteringRu
         public void render(PoseStack matrices, int index, int y, int x, int entryWidth, int entryHeight, int mouseX, int mouseY, boolean isHovered, float delta) {
             BatchedEntryRendererManager manager = new BatchedEntryRendererManager();
             int entrySize = entrySize();
-            int width = entryWidth / entrySize;
-            int i = 0;
-            for (EntryWidget stack : entryStacks.get()) {
-                stack.getBounds().setLocation(x + (i % width) * entrySize, y + (i / width) * entrySize);
-                if (stack.getBounds().getMaxY() >= 0 && stack.getBounds().getY() <= Minecraft.getInstance().getWindow().getGuiScaledHeight()) {
-                    manager.add(stack);
+            int width = Math.max(1, entryWidth / entrySize);
+            List<EntryStack<?>> stacks = entryStacks.get();
+            // Only the rows on screen get a widget, the widgets are reused across frames
+            int firstRow = Math.max(0, -y / entrySize - 1);
+            int lastRow = (Minecraft.getInstance().getWindow().getGuiScaledHeight() - y) / entrySize + 1;
+            int widgetIndex = 0;
+            for (int i = firstRow * width; i < stacks.size() && i < (lastRow + 1) * width; i++) {
+                if (widgetIndex >= widgets.size()) {
+                    widgets.add(new EntryWidget(new Rectangle(0, 0, 18, 18)).noBackground());
                 }
-                i++;
+                EntryWidget widget = widgets.get(widgetIndex++);
+                widget.getBounds().setLocation(x + (i % width) * entrySize, y + (i / width) * entrySize);
+                widget.clearStacks().entry(stacks.get(i));
+                manager.add(widget);
             }
             manager.render(matrices, mouseX, mouseY, delta);
-            totalHeight = (i / width + 1) * entrySize;
+            totalHeight = (stacks.size() / width + 1) * entrySize;
         }
     
         @Override
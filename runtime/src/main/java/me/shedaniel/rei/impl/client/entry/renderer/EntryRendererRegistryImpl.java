@@ -23,30 +23,64 @@
 
 package me.shedaniel.rei.impl.client.entry.renderer;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import me.shedaniel.rei.api.client.entry.renderer.EntryRenderer;
 import me.shedaniel.rei.api.client.entry.renderer.EntryRendererProvider;
 import me.shedaniel.rei.api.client.entry.renderer.EntryRendererRegistry;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.entry.type.EntryType;
+import me.shedaniel.rei.impl.client.entry.EntryTooltipCache;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Set;
 
 public class EntryRendererRegistryImpl implements EntryRendererRegistry {
     private final Multimap<EntryType<?>, EntryRendererProvider<?>> providers = Multimaps.newListMultimap(new Reference2ObjectOpenHashMap<>(), ArrayList::new);
+    private final Set<EntryType<?>> dynamicTypes = new ReferenceOpenHashSet<>();
+    // Weak keys compare stacks by identity
+    private final Cache<EntryStack<?>, Resolved> resolved = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+    private volatile int generation;
+    
+    private record Resolved(int generation, EntryRenderer<?> renderer) {}
     
     @Override
     public <T> void register(EntryType<T> type, EntryRendererProvider<T> provider) {
         this.providers.put(type, provider);
+        this.invalidate();
+    }
+    
+    @Override
+    public <T> void registerDynamic(EntryType<T> type, EntryRendererProvider<T> provider) {
+        this.dynamicTypes.add(type);
+        this.register(type, provider);
     }
     
     @Override
     public <T> EntryRenderer<T> get(EntryStack<T> stack) {
+        if (dynamicTypes.contains(stack.getType())) {
+            return resolve(stack);
+        }
+        int generation = this.generation;
+        Resolved resolved = this.resolved.getIfPresent(stack);
+        if (resolved != null && resolved.generation() == generation) {
+            return resolved.renderer().cast();
+        }
+        EntryRenderer<T> renderer = resolve(stack);
+        this.resolved.put(stack, new Resolved(generation, renderer));
+        return renderer;
+    }
+    
+    private <T> EntryRenderer<T> resolve(EntryStack<T> stack) {
         EntryRenderer<T> renderer = stack.getDefinition().getRenderer();
         for (EntryRendererProvider<T> provider : (Collection<EntryRendererProvider<T>>) (Collection<? extends EntryRendererProvider<?>>) providers.get(stack.getType())) {
             renderer = Objects.requireNonNull(provider.provide(stack, renderer));
@@ -54,9 +88,22 @@ public class EntryRendererRegistryImpl implements EntryRendererRegistry {
         return renderer;
     }
     
+    private void invalidate() {
+        this.generation++;
+        this.resolved.invalidateAll();
+        EntryTooltipCache.invalidateAll();
+    }
+    
     @Override
     public void startReload() {
         providers.clear();
+        dynamicTypes.clear();
+        invalidate();
+    }
+    
+    @Override
+    public void endReload() {
+        invalidate();
     }
     
     @Override
@@ -37,21 +37,22 @@ import me.shedaniel.rei.api.common.registry.ReloadStage;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
 import me.shedaniel.rei.impl.common.InternalLogger;
+import net.minecraft.Util;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
-import org.apache.commons.lang3.mutable.MutableLong;
-import org.apache.commons.lang3.tuple.Triple;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @ApiStatus.Internal
 public class FavoriteEntryTypeRegistryImpl implements FavoriteEntryType.Registry {
     private final BiMap<ResourceLocation, FavoriteEntryType<?>> registry = HashBiMap.create();
-    private final List<Triple<SystemFavoriteEntryProvider<?>, MutableLong, List<FavoriteEntry>>> systemFavorites = Lists.newArrayList();
+    private final List<SystemFavorites> systemFavorites = Lists.newArrayList();
     private final Map<Component, FavoriteEntryType.Section> sections = Maps.newConcurrentMap();
     private final List<FavoriteEntryType.Section> sectionsList = Lists.newCopyOnWriteArrayList();
     
@@ -98,17 +99,28 @@ public class FavoriteEntryTypeRegistryImpl implements FavoriteEntryType.Registry
     
     @Override
     public <A extends FavoriteEntry> void registerSystemFavorites(SystemFavoriteEntryProvider<A> provider) {
-        this.systemFavorites.add(Triple.of(provider, new MutableLong(-1), new ArrayList<>()));
+        this.systemFavorites.add(new SystemFavorites(provider::provide, provider.updateInterval(), false));
         InternalLogger.getInstance().debug("Added system favorites: %s", provider);
     }
     
-    public List<Triple<SystemFavoriteEntryProvider<?>, MutableLong, List<FavoriteEntry>>> getSystemProviders() {
+    @Override
+    public FavoriteEntryType.ChangeHandle registerNotifiedSystemFavorites(Supplier<List<? extends FavoriteEntry>> provider) {
+        SystemFavorites favorites = new SystemFavorites(provider, -1, true);
+        this.systemFavorites.add(favorites);
+        InternalLogger.getInstance().debug("Added notified system favorites: %s", provider);
+        return favorites.handle;
+    }
+    
+    public List<SystemFavorites> getSystemProviders() {
         return this.systemFavorites;
     }
     
     @Override
     public void startReload() {
         this.registry.clear();
+        for (SystemFavorites favorites : this.systemFavorites) {
+            favorites.handle.release();
+        }
         this.systemFavorites.clear();
         this.sections.clear();
         this.sectionsList.clear();
@@ -126,6 +138,95 @@ public class FavoriteEntryTypeRegistryImpl implements FavoriteEntryType.Registry
         InternalLogger.getInstance().debug("Registered %d favorite entry types", registry.size());
     }
     
+    public static class SystemFavorites {
+        private final Supplier<List<? extends FavoriteEntry>> provider;
+        private final long updateInterval;
+        private final boolean notifying;
+        private final ChangeHandleImpl handle = new ChangeHandleImpl(this);
+        private final List<FavoriteEntry> entries = new ArrayList<>();
+        private volatile boolean changed = true;
+        private long nextUpdate = -1;
+        @Nullable
+        private CompletableFuture<List<FavoriteEntry>> pending;
+        
+        private SystemFavorites(Supplier<List<? extends FavoriteEntry>> provider, long updateInterval, boolean notifying) {
+            this.provider = provider;
+            this.updateInterval = updateInterval;
+            this.notifying = notifying;
+        }
+        
+        /**
+         * Updates the entries of the provider, polling providers are queried on the render thread when their
+         * interval has expired. Providers notifying their changes are queried off the render thread after a
+         * notification, and their entries are applied once the query has finished.
+         *
+         * @return whether the entries have changed
+         */
+        public boolean update() {
+            if (!notifying) {
+                long now = Util.getMillis();
+                if (nextUpdate != -1 && nextUpdate >= now) return false;
+                nextUpdate = now + updateInterval;
+                return apply((List<FavoriteEntry>) provider.get());
+            }
+            
+            boolean updated = false;
+            if (pending != null && pending.isDone()) {
+                List<FavoriteEntry> provided = pending.getNow(null);
+                pending = null;
+                updated = provided != null && apply(provided);
+            }
+            
+            if (pending == null && changed) {
+                changed = false;
+                pending = CompletableFuture.<List<FavoriteEntry>>supplyAsync(() -> new ArrayList<>(provider.get()))
+                        .exceptionally(throwable -> {
+                            InternalLogger.getInstance().warn("Failed to provide system favorites: " + provider, throwable);
+                            return null;
+                        });
+            }
+            
+            return updated;
+        }
+        
+        private boolean apply(List<FavoriteEntry> provided) {
+            if (provided.equals(entries)) return false;
+            entries.clear();
+            entries.addAll(provided);
+            return true;
+        }
+        
+        public List<FavoriteEntry> getEntries() {
+            return entries;
+        }
+    }
+    
+    private static class ChangeHandleImpl implements FavoriteEntryType.ChangeHandle {
+        @Nullable
+        private volatile SystemFavorites favorites;
+        
+        private ChangeHandleImpl(SystemFavorites favorites) {
+            this.favorites = favorites;
+        }
+        
+        @Override
+        public void markChanged() {
+            SystemFavorites favorites = this.favorites;
+            if (favorites != null) {
+                favorites.changed = true;
+            }
+        }
+        
+        @Override
+        public boolean isReleased() {
+            return favorites == null;
+        }
+        
+        private void release() {
+            this.favorites = null;
+        }
+    }
+    
     private static class SectionImpl implements FavoriteEntryType.Section {
         private final Component text;
         private final List<CompoundEntry> entries = new ArrayList<>();
@@ -55,6 +55,7 @@ import me.shedaniel.rei.impl.client.gui.dragging.CurrentDraggingStack;
 import me.shedaniel.rei.impl.client.gui.modules.MenuAccess;
 import me.shedaniel.rei.impl.client.gui.modules.MenuHolder;
 import me.shedaniel.rei.impl.client.gui.widget.*;
+import me.shedaniel.rei.impl.client.gui.widget.entrylist.EntryListSearchManager;
 import me.shedaniel.rei.impl.client.gui.widget.entrylist.EntryListWidget;
 import me.shedaniel.rei.impl.client.gui.widget.entrylist.PaginatedEntryListWidget;
 import me.shedaniel.rei.impl.client.gui.widget.entrylist.ScrolledEntryListWidget;
@@ -227,7 +228,8 @@ public abstract class ScreenOverlayImpl extends ScreenOverlay {
                 }
             }
         }
-        if (shouldReloadSearch || (ConfigManager.getInstance().isCraftableOnlyEnabled() && CraftableFilter.INSTANCE.wasDirty())) {
+        if (shouldReloadSearch || (ConfigManager.getInstance().isCraftableOnlyEnabled() && CraftableFilter.INSTANCE.wasDirty())
+            || EntryListSearchManager.INSTANCE.pollNewSearchData()) {
             shouldReloadSearch = false;
             getEntryListWidget().updateSearch(REIRuntimeImpl.getSearchField().getText(), true);
         }
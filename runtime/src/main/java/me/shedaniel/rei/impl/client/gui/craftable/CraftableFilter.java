@@ -26,16 +26,29 @@ package me.shedaniel.rei.impl.client.gui.craftable;
 import it.unimi.dsi.fastutil.longs.Long2LongMap;
 import it.unimi.dsi.fastutil.longs.Long2LongMaps;
 import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.impl.client.ClientHelperImpl;
 
 public class CraftableFilter {
     public static final CraftableFilter INSTANCE = new CraftableFilter();
     private boolean dirty = false;
+    private volatile int generation = 0;
+    private boolean trackingGeneration = false;
     private Long2LongMap invStacks = new Long2LongOpenHashMap();
     private Long2LongMap containerStacks = new Long2LongOpenHashMap();
     
     public void markDirty() {
         dirty = true;
+        generation++;
+    }
+    
+    /**
+     * Returns the inventory generation, which changes every time the inventory or container contents change.
+     *
+     * @return the inventory generation
+     */
+    public int getGeneration() {
+        return generation;
     }
     
     public boolean wasDirty() {
@@ -48,7 +61,14 @@ public class CraftableFilter {
     }
     
     public void tick() {
-        if (dirty) return;
+        // The generation only has to follow every change while merged displays are ranked by it
+        boolean tracking = ConfigObject.getInstance().doMergeDisplayUnderOne();
+        if (tracking != trackingGeneration) {
+            trackingGeneration = tracking;
+            // Changes were missed while not tracking, invalidate anything ranked against the old generation
+            if (tracking) markDirty();
+        }
+        
         Long2LongMap currentStacks;
         try {
             currentStacks = ClientHelperImpl.getInstance()._getInventoryItemsTypes();
@@ -60,8 +80,8 @@ public class CraftableFilter {
             invStacks = currentStacks;
             markDirty();
         }
-        if (dirty) return;
-    
+        if (dirty && !tracking) return;
+        
         try {
             currentStacks = ClientHelperImpl.getInstance()._getContainerItemsTypes();
         } catch (Throwable throwable) {
@@ -59,16 +59,32 @@ import net.minecraft.util.Mth;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 
 @ApiStatus.Internal
 public class CompositeDisplayViewingScreen extends AbstractDisplayViewingScreen {
+    /**
+     * Maximum number of display rows kept alive, rows are created when they are scrolled into view.
+     */
+    private static final int MAX_CACHED_ROWS = 128;
     private final List<Widget> widgets = Lists.newArrayList();
-    private final List<Button> buttonList = Lists.newArrayList();
-    private final List<DisplayRenderer> displayRenderers = Lists.newArrayList();
+    private final Map<Integer, Row> rows = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Row> eldest) {
+            if (size() > MAX_CACHED_ROWS) {
+                children().remove(eldest.getValue().button());
+                return true;
+            }
+            return false;
+        }
+    };
+    /**
+     * Heights of the rows, estimated from the first row until the row is created.
+     */
+    private int[] rowHeights = new int[0];
+    private int totalRowHeight = 0;
+    @Nullable
+    private List<DisplaySpec> rowDisplays;
     private final List<TabWidget> tabs = Lists.newArrayList();
     public Rectangle scrollListBounds;
     private int selectedRecipeIndex = 0;
@@ -80,11 +96,7 @@ public class CompositeDisplayViewingScreen extends AbstractDisplayViewingScreen
         
         @Override
         public int getMaxScrollHeight() {
-            int i = 0;
-            for (Button button : buttonList) {
-                i += button.getBounds().height;
-            }
-            return i;
+            return totalRowHeight;
         }
     };
     private float scrollBarAlpha = 0;
@@ -110,8 +122,6 @@ public class CompositeDisplayViewingScreen extends AbstractDisplayViewingScreen
         int tabSize = isCompactTabs ? 24 : 28;
         this.children().clear();
         this.widgets.clear();
-        this.buttonList.clear();
-        this.displayRenderers.clear();
         this.tabs.clear();
         int largestWidth = width - 100;
         int largestHeight = height - 40;
@@ -174,21 +184,21 @@ public class CompositeDisplayViewingScreen extends AbstractDisplayViewingScreen
         if (supplier.isPresent() && supplier.get().get(recipeBounds) != null)
             this.widgets.add(InternalWidgets.createAutoCraftingButtonWidget(recipeBounds, supplier.get().get(recipeBounds), Component.literal(supplier.get().getButtonText()), display::provideInternalDisplay, display::provideInternalDisplayIds, setupDisplay, category));
         
-        int index = 0;
-        for (DisplaySpec recipeDisplay : categoryMap.get(category)) {
-            int finalIndex = index;
-            DisplayRenderer displayRenderer;
-            displayRenderers.add(displayRenderer = getCurrentCategoryView(recipeDisplay.provideInternalDisplay()).getDisplayRenderer(recipeDisplay.provideInternalDisplay()));
-            buttonList.add(Widgets.createButton(new Rectangle(bounds.x + 5, 0, displayRenderer.getWidth(), displayRenderer.getHeight()), Component.empty())
-                    .onClick(button -> {
-                        selectedRecipeIndex = finalIndex;
-                        CompositeDisplayViewingScreen.this.init();
-                    })
-                    .containsMousePredicate((button, point) -> {
-                        return (button.getBounds().contains(point) && scrollListBounds.contains(point)) || button.isFocused();
-                    })
-                    .onRender((matrices, button) -> button.setEnabled(selectedRecipeIndex != finalIndex)));
-            index++;
+        List<DisplaySpec> displays = categoryMap.get(category);
+        if (rowDisplays != displays) {
+            this.rows.clear();
+            this.rowDisplays = displays;
+            this.rowHeights = new int[displays.size()];
+            this.totalRowHeight = 0;
+            int estimatedHeight = getRow(0).renderer().getHeight();
+            for (int i = 1; i < rowHeights.length; i++) {
+                this.rowHeights[i] = estimatedHeight;
+                this.totalRowHeight += estimatedHeight;
+            }
+        } else {
+            for (Row row : rows.values()) {
+                children().add(row.button());
+            }
         }
         int tabV = isCompactTabs ? 166 : 192;
         for (int i = 0; i < tabsPerPage; i++) {
@@ -248,7 +258,6 @@ public class CompositeDisplayViewingScreen extends AbstractDisplayViewingScreen
             ViewSearchBuilder.builder().addAllCategories().open();
         }).tooltip(Component.translatable("text.rei.view_all_categories")).noShadow().color(0xFF404040, 0xFFBBBBBB).hoveredColor(0xFF0041FF, 0xFFFFBD4D));
         
-        this.children().addAll(buttonList);
         this.widgets.addAll(tabs);
         this.children().addAll(widgets);
     }
@@ -378,25 +387,59 @@ public class CompositeDisplayViewingScreen extends AbstractDisplayViewingScreen
         }
         matrices.pushPose();
         ScissorsHandler.INSTANCE.scissor(scrolling.getBounds());
-        for (Button button : buttonList) {
-            button.getBounds().y = scrollListBounds.y + 1 + yOffset - scrolling.scrollAmountInt();
-            if (button.getBounds().getMaxY() > scrollListBounds.getMinY() && button.getBounds().getMinY() < scrollListBounds.getMaxY()) {
-                button.render(matrices, mouseX, mouseY, delta);
-            }
-            yOffset += button.getBounds().height;
+        for (Row row : rows.values()) {
+            // Move the rows out of view, only the visible ones are laid out below
+            row.button().getBounds().y = Integer.MIN_VALUE / 2;
         }
-        for (int i = 0; i < buttonList.size(); i++) {
-            if (buttonList.get(i).getBounds().getMaxY() > scrollListBounds.getMinY() && buttonList.get(i).getBounds().getMinY() < scrollListBounds.getMaxY()) {
-                displayRenderers.get(i).setZ(1);
-                displayRenderers.get(i).render(matrices, buttonList.get(i).getBounds(), mouseX, mouseY, delta);
-                Optional.ofNullable(displayRenderers.get(i).getTooltip(TooltipContext.of(new Point(mouseX, mouseY)))).ifPresent(Tooltip::queue);
+        List<Row> visibleRows = new ArrayList<>();
+        for (int i = 0; i < rowHeights.length; i++) {
+            int y = scrollListBounds.y + 1 + yOffset - scrolling.scrollAmountInt();
+            if (y + rowHeights[i] > scrollListBounds.getMinY() && y < scrollListBounds.getMaxY()) {
+                Row row = getRow(i);
+                row.button().getBounds().x = bounds.x + 5;
+                row.button().getBounds().y = y;
+                row.button().render(matrices, mouseX, mouseY, delta);
+                visibleRows.add(row);
+            } else if (y >= scrollListBounds.getMaxY()) {
+                break;
             }
+            yOffset += rowHeights[i];
+        }
+        for (Row row : visibleRows) {
+            row.renderer().setZ(1);
+            row.renderer().render(matrices, row.button().getBounds(), mouseX, mouseY, delta);
+            Optional.ofNullable(row.renderer().getTooltip(TooltipContext.of(new Point(mouseX, mouseY)))).ifPresent(Tooltip::queue);
         }
         scrolling.renderScrollBar(0, scrollBarAlpha, REIRuntime.getInstance().isDarkThemeEnabled() ? 0.8f : 1f);
         ScissorsHandler.INSTANCE.removeLastScissor();
         matrices.popPose();
     }
     
+    private Row getRow(int index) {
+        Row row = rows.get(index);
+        if (row == null) {
+            DisplaySpec display = Objects.requireNonNull(rowDisplays).get(index);
+            DisplayRenderer displayRenderer = getCurrentCategoryView(display.provideInternalDisplay()).getDisplayRenderer(display.provideInternalDisplay());
+            Button rowButton = Widgets.createButton(new Rectangle(bounds.x + 5, 0, displayRenderer.getWidth(), displayRenderer.getHeight()), Component.empty())
+                    .onClick(button -> {
+                        selectedRecipeIndex = index;
+                        CompositeDisplayViewingScreen.this.init();
+                    })
+                    .containsMousePredicate((button, point) -> {
+                        return (button.getBounds().contains(point) && scrollListBounds.contains(point)) || button.isFocused();
+                    })
+                    .onRender((matrices, button) -> button.setEnabled(selectedRecipeIndex != index));
+            row = new Row(displayRenderer, rowButton);
+            rows.put(index, row);
+            children().add(rowButton);
+            totalRowHeight += displayRenderer.getHeight() - rowHeights[index];
+            rowHeights[index] = displayRenderer.getHeight();
+        }
+        return row;
+    }
+    
+    private record Row(DisplayRenderer renderer, Button button) {}
+    
     @Override
     public boolean mouseReleased(double double_1, double double_2, int int_1) {
         for (GuiEventListener entry : children())
@@ -59,6 +59,7 @@ import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
 import me.shedaniel.rei.impl.client.gui.toast.ExportRecipeIdentifierToast;
 import me.shedaniel.rei.impl.client.gui.widget.*;
 import me.shedaniel.rei.impl.client.gui.widget.basewidgets.PanelWidget;
+import me.shedaniel.rei.impl.client.util.TimeSlicedExecutor;
 import me.shedaniel.rei.impl.display.DisplaySpec;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
@@ -79,7 +80,17 @@ import java.util.function.Supplier;
 
 @ApiStatus.Internal
 public class DefaultDisplayViewingScreen extends AbstractDisplayViewingScreen {
+    /**
+     * Number of built pages kept, the current page and the prefetched adjacent pages.
+     */
+    private static final int MAX_CACHED_PAGES = 5;
     private final Map<Rectangle, Pair<DisplaySpec, List<Widget>>> recipeBounds = Maps.newHashMap();
+    private final Map<PageKey, BuiltPage> builtPages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PageKey, BuiltPage> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
     private List<Widget> widgets = Lists.newArrayList();
     public int page;
     public int categoryPages = -1;
@@ -278,9 +289,46 @@ public class DefaultDisplayViewingScreen extends AbstractDisplayViewingScreen {
     }
     
     private void initDisplays() {
+        BuiltPage builtPage = getBuiltPage(page);
+        this.recipeBounds.putAll(builtPage.recipeBounds());
+        this.widgets.addAll(builtPage.widgets());
+        prefetchPages();
+    }
+    
+    /**
+     * Builds the adjacent pages on the client tick, so flipping to them only swaps the widgets in.
+     */
+    private void prefetchPages() {
+        int totalPages = getCurrentTotalPages();
+        if (totalPages <= 1) return;
+        List<Integer> pages = new ArrayList<>();
+        pages.add((page + 1) % totalPages);
+        if (totalPages > 2) pages.add((page - 1 + totalPages) % totalPages);
+        DisplayCategory<?> category = getCurrentCategory();
+        Rectangle bounds = this.bounds.clone();
+        TimeSlicedExecutor.submit(pages, adjacentPage -> {
+            if (minecraft.screen == this && getCurrentCategory() == category && bounds.equals(this.bounds)) {
+                getBuiltPage(adjacentPage);
+            }
+        });
+    }
+    
+    private BuiltPage getBuiltPage(int page) {
+        PageKey key = new PageKey(getCurrentCategory(), page, bounds.clone());
+        BuiltPage builtPage = builtPages.get(key);
+        if (builtPage == null) {
+            builtPage = buildPage(page);
+            builtPages.put(key, builtPage);
+        }
+        return builtPage;
+    }
+    
+    private BuiltPage buildPage(int page) {
+        List<Widget> widgets = new ArrayList<>();
+        Map<Rectangle, Pair<DisplaySpec, List<Widget>>> recipeBounds = new HashMap<>();
         Optional<ButtonArea> plusButtonArea = CategoryRegistry.getInstance().get(getCurrentCategoryId()).getPlusButtonArea();
         int displayHeight = getCurrentCategory().getDisplayHeight();
-        List<DisplaySpec> currentDisplayed = getCurrentDisplayed();
+        List<DisplaySpec> currentDisplayed = getDisplayed(page);
         for (int i = 0; i < currentDisplayed.size(); i++) {
             final DisplaySpec display = currentDisplayed.get(i);
             final Supplier<Display> displaySupplier = display::provideInternalDisplay;
@@ -303,14 +351,19 @@ public class DefaultDisplayViewingScreen extends AbstractDisplayViewingScreen {
             for (EntryWidget widget : Widgets.<EntryWidget>walk(widgets, EntryWidget.class::isInstance)) {
                 widget.removeTagMatch = true;
             }
-            this.recipeBounds.put(displayBounds, Pair.of(display, setupDisplay));
-            this.widgets.add(new DisplayCompositeWidget(display, setupDisplay, displayBounds));
+            recipeBounds.put(displayBounds, Pair.of(display, setupDisplay));
+            widgets.add(new DisplayCompositeWidget(display, setupDisplay, displayBounds));
             if (plusButtonArea.isPresent()) {
-                this.widgets.add(InternalWidgets.createAutoCraftingButtonWidget(displayBounds, plusButtonArea.get().get(displayBounds), Component.literal(plusButtonArea.get().getButtonText()), displaySupplier, display::provideInternalDisplayIds, setupDisplay, getCurrentCategory()));
+                widgets.add(InternalWidgets.createAutoCraftingButtonWidget(displayBounds, plusButtonArea.get().get(displayBounds), Component.literal(plusButtonArea.get().getButtonText()), displaySupplier, display::provideInternalDisplayIds, setupDisplay, getCurrentCategory()));
             }
         }
+        return new BuiltPage(widgets, recipeBounds);
     }
     
+    private record PageKey(DisplayCategory<?> category, int page, Rectangle bounds) {}
+    
+    private record BuiltPage(List<Widget> widgets, Map<Rectangle, Pair<DisplaySpec, List<Widget>>> recipeBounds) {}
+    
     private void initWorkstations(List<Widget> widgets) {
         workingStationsBaseWidget = null;
         List<EntryIngredient> workstations = CategoryRegistry.getInstance().get(getCurrentCategoryId()).getWorkstations();
@@ -343,6 +396,10 @@ public class DefaultDisplayViewingScreen extends AbstractDisplayViewingScreen {
     }
     
     public List<DisplaySpec> getCurrentDisplayed() {
+        return getDisplayed(page);
+    }
+    
+    private List<DisplaySpec> getDisplayed(int page) {
         List<DisplaySpec> list = Lists.newArrayList();
         int recipesPerPage = getRecipesPerPage();
         List<DisplaySpec> displays = categoryMap.get(getCurrentCategory());
@@ -89,6 +89,15 @@ public class EntryListSearchManager {
         }
     }
     
+    /**
+     * Returns whether the last search was partial and new search data has been cached since.
+     *
+     * @see AsyncSearchManager#pollNewSearchData()
+     */
+    public boolean pollNewSearchData() {
+        return searchManager.pollNewSearchData();
+    }
+    
     private List<EntryStack<?>> copyAndOrder(List<EntryStack<?>> list) {
         list = new ArrayList<>(list);
         EntryPanelOrdering ordering = ConfigObject.getInstance().getItemListOrdering();
@@ -103,7 +112,7 @@ public class EntryListSearchManager {
         return list;
     }
     
-    private List</*EntryStack<?> | CollapsedStack*/ Object> collapse(List<EntryStack<?>> stacks) {
+    public List</*EntryStack<?> | CollapsedStack*/ Object> collapse(List<EntryStack<?>> stacks) {
         CollapsibleEntryRegistryImpl collapsibleRegistry = (CollapsibleEntryRegistryImpl) CollapsibleEntryRegistry.getInstance();
         Map<CollapsibleEntryRegistryImpl.Entry, @Nullable CollapsedStack> entries = new HashMap<>();
         
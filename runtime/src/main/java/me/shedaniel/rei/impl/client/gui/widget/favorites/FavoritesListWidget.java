@@ -32,7 +32,6 @@ import me.shedaniel.rei.api.client.config.ConfigManager;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.favorites.FavoriteEntry;
 import me.shedaniel.rei.api.client.favorites.FavoriteEntryType;
-import me.shedaniel.rei.api.client.favorites.SystemFavoriteEntryProvider;
 import me.shedaniel.rei.api.client.gui.drag.DraggableStack;
 import me.shedaniel.rei.api.client.gui.drag.DraggedAcceptorResult;
 import me.shedaniel.rei.api.client.gui.drag.DraggingContext;
@@ -64,8 +63,6 @@ import me.shedaniel.rei.impl.client.gui.widget.region.RealRegionEntry;
 import me.shedaniel.rei.impl.client.gui.widget.region.RegionDraggableStack;
 import me.shedaniel.rei.impl.common.util.RectangleUtils;
 import net.minecraft.client.gui.screens.Screen;
-import org.apache.commons.lang3.mutable.MutableLong;
-import org.apache.commons.lang3.tuple.Triple;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
@@ -217,26 +214,14 @@ public class FavoritesListWidget extends WidgetWithBounds implements DraggableCo
     
     private void updateSystemRegion() {
         boolean updated = false;
-        List<Triple<SystemFavoriteEntryProvider<?>, MutableLong, List<FavoriteEntry>>> providers = ((FavoriteEntryTypeRegistryImpl) FavoriteEntryType.registry()).getSystemProviders();
+        List<FavoriteEntryTypeRegistryImpl.SystemFavorites> providers = ((FavoriteEntryTypeRegistryImpl) FavoriteEntryType.registry()).getSystemProviders();
         
-        for (Triple<SystemFavoriteEntryProvider<?>, MutableLong, List<FavoriteEntry>> pair : providers) {
-            SystemFavoriteEntryProvider<?> provider = pair.getLeft();
-            MutableLong mutableLong = pair.getMiddle();
-            List<FavoriteEntry> entries = pair.getRight();
-            
-            if (mutableLong.getValue() == -1 || mutableLong.getValue() < System.currentTimeMillis()) {
-                mutableLong.setValue(System.currentTimeMillis() + provider.updateInterval());
-                List<FavoriteEntry> provide = (List<FavoriteEntry>) provider.provide();
-                if (!provide.equals(entries)) {
-                    entries.clear();
-                    entries.addAll(provide);
-                    updated = true;
-                }
-            }
+        for (FavoriteEntryTypeRegistryImpl.SystemFavorites favorites : providers) {
+            updated |= favorites.update();
         }
         
         if (updated) {
-            lastSystemEntries = CollectionUtils.flatMap(providers, Triple::getRight);
+            lastSystemEntries = CollectionUtils.flatMap(providers, FavoriteEntryTypeRegistryImpl.SystemFavorites::getEntries);
             setSystemRegionEntries(null);
         }
     }
@@ -37,14 +37,26 @@ import net.minecraft.nbt.CompoundTag;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DisplayHistoryManager {
     public static final DisplayHistoryManager INSTANCE = new DisplayHistoryManager();
     private Map<String, DisplayEntry> entries = new LinkedHashMap<>();
+    /**
+     * Displays read from the config, keyed by their history UUID.
+     * These are read off the client thread, and each history entry is only read once.
+     */
+    private final Map<String, Display> displays = new ConcurrentHashMap<>();
+    private final Set<String> unreadable = ConcurrentHashMap.newKeySet();
+    @Nullable
+    private CompletableFuture<Void> reading;
+    private volatile boolean dirty;
     private long lastCheckTime = -1;
     
     public Collection<DisplayEntry> getEntries(DisplayHistoryWidget parent) {
-        if ((lastCheckTime == -1 || Util.getMillis() - lastCheckTime > 4000) && !PluginManager.areAnyReloading()) {
+        if ((dirty || lastCheckTime == -1 || Util.getMillis() - lastCheckTime > 4000) && !PluginManager.areAnyReloading()) {
+            dirty = false;
             updateEntries(parent);
             lastCheckTime = Util.getMillis();
         }
@@ -55,34 +67,63 @@ public class DisplayHistoryManager {
     private void updateEntries(DisplayHistoryWidget parent) {
         List<CompoundTag> displayHistory = ConfigManagerImpl.getInstance().getConfig().getDisplayHistory();
         Map<String, DisplayEntry> copy = new LinkedHashMap<>(entries);
+        Map<String, CompoundTag> toRead = new LinkedHashMap<>();
         entries.clear();
         for (CompoundTag tag : displayHistory) {
             String uuid = tag.getString("DisplayHistoryUUID");
             
             DisplayEntry entry = copy.get(uuid);
+            Display display;
             if (entry != null) {
-                entries.put(entry.getUuid().toString(), entry);
-            } else if (tag.getBoolean("DisplayHistoryContains")) {
+                entries.put(uuid, entry);
+            } else if ((display = displays.get(uuid)) != null) {
+                DisplayEntry newEntry = new DisplayEntry(parent, display, null);
+                newEntry.setUuid(UUID.fromString(uuid));
+                entries.put(uuid, newEntry);
+            } else if (tag.getBoolean("DisplayHistoryContains") && !unreadable.contains(uuid)) {
                 try {
                     CategoryIdentifier<?> categoryIdentifier = CategoryIdentifier.of(tag.getString("DisplayHistoryCategory"));
                     if (CategoryRegistry.getInstance().tryGet(categoryIdentifier).isPresent()) {
-                        Display display = DisplaySerializerRegistry.getInstance().read(categoryIdentifier, tag.getCompound("DisplayHistoryData"));
-                        DisplayEntry newEntry = new DisplayEntry(parent, display, null);
-                        newEntry.setUuid(UUID.fromString(uuid));
-                        entries.put(newEntry.getUuid().toString(), newEntry);
+                        toRead.put(uuid, tag.copy());
                     }
                 } catch (Exception e) {
+                    unreadable.add(uuid);
                     InternalLogger.getInstance().warn("Failed to read display history entry", e);
                 }
             }
         }
+        
+        if (reading == null || reading.isDone()) {
+            displays.keySet().retainAll(entries.keySet());
+            if (!toRead.isEmpty()) {
+                reading = CompletableFuture.runAsync(() -> readDisplays(toRead));
+            }
+        }
+    }
+    
+    private void readDisplays(Map<String, CompoundTag> tags) {
+        for (Map.Entry<String, CompoundTag> entry : tags.entrySet()) {
+            String uuid = entry.getKey();
+            CompoundTag tag = entry.getValue();
+            try {
+                UUID.fromString(uuid);
+                CategoryIdentifier<?> categoryIdentifier = CategoryIdentifier.of(tag.getString("DisplayHistoryCategory"));
+                displays.put(uuid, DisplaySerializerRegistry.getInstance().read(categoryIdentifier, tag.getCompound("DisplayHistoryData")));
+            } catch (Exception e) {
+                unreadable.add(uuid);
+                InternalLogger.getInstance().warn("Failed to read display history entry", e);
+            }
+        }
+        dirty = true;
     }
     
     public void removeEntry(DisplayEntry entry) {
-        this.entries.remove(entry.getUuid().toString());
+        String uuid = entry.getUuid().toString();
+        this.entries.remove(uuid);
+        this.displays.remove(uuid);
         List<CompoundTag> displayHistory = ConfigManagerImpl.getInstance().getConfig().getDisplayHistory();
-        displayHistory.removeIf(tag -> tag.getString("DisplayHistoryUUID").equals(entry.getUuid().toString()));
-        save();
+        displayHistory.removeIf(tag -> tag.getString("DisplayHistoryUUID").equals(uuid));
+        ConfigManagerImpl.getInstance().saveConfig();
     }
     
     public void addEntry(DisplayHistoryWidget parent, @Nullable Rectangle bounds, Display display) {
@@ -107,36 +148,25 @@ public class DisplayHistoryManager {
         }
         
         CompoundTag compoundTag = new CompoundTag();
-        compoundTag.putBoolean("DisplayHistoryContains", false);
         compoundTag.putString("DisplayHistoryUUID", newEntry.getUuid().toString());
         compoundTag.putString("DisplayHistoryCategory", display.getCategoryIdentifier().toString());
+        compoundTag.putBoolean("DisplayHistoryContains", writeDisplay(display, compoundTag));
         displayHistory.add(0, compoundTag);
         
-        save();
+        ConfigManagerImpl.getInstance().saveConfig();
     }
     
-    private void save() {
-        List<CompoundTag> displayHistory = ConfigManagerImpl.getInstance().getConfig().getDisplayHistory();
-        for (CompoundTag compoundTag : displayHistory) {
-            String uuid = compoundTag.getString("DisplayHistoryUUID");
-            DisplayEntry entry = entries.get(uuid);
-            
-            if (entry != null) {
-                compoundTag.putBoolean("DisplayHistoryContains", false);
-                Display display = entry.getDisplay();
-                boolean hasSerializer = DisplaySerializerRegistry.getInstance().hasSerializer(display.getCategoryIdentifier());
-                
-                if (hasSerializer) {
-                    try {
-                        compoundTag.put("DisplayHistoryData", DisplaySerializerRegistry.getInstance().save(display, new CompoundTag()));
-                        compoundTag.putBoolean("DisplayHistoryContains", true);
-                    } catch (Exception e) {
-                        InternalLogger.getInstance().warn("Failed to save display history entry", e);
-                    }
-                }
-            }
+    private static boolean writeDisplay(Display display, CompoundTag compoundTag) {
+        if (!DisplaySerializerRegistry.getInstance().hasSerializer(display.getCategoryIdentifier())) {
+            return false;
         }
         
-        ConfigManagerImpl.getInstance().saveConfig();
+        try {
+            compoundTag.put("DisplayHistoryData", DisplaySerializerRegistry.getInstance().save(display, new CompoundTag()));
+            return true;
+        } catch (Exception e) {
+            InternalLogger.getInstance().warn("Failed to save display history entry", e);
+            return false;
+        }
     }
 }
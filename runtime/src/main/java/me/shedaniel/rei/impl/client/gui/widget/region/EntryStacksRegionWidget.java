@@ -28,6 +28,7 @@ import com.google.common.collect.Lists;
 import com.mojang.blaze3d.vertex.PoseStack;
 import it.unimi.dsi.fastutil.ints.*;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import me.shedaniel.clothconfig2.ClothConfigInitializer;
 import me.shedaniel.clothconfig2.api.ScissorsHandler;
 import me.shedaniel.clothconfig2.api.scroll.ScrollingContainer;
@@ -52,10 +53,11 @@ import net.minecraft.util.Unit;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -85,7 +87,8 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
             return maxX - 7;
         }
     };
-    private final Int2ObjectMap<RealRegionEntry<T>> entries = new Int2ObjectLinkedOpenHashMap<>();
+    private Int2ObjectMap<RealRegionEntry<T>> entries = new Int2ObjectLinkedOpenHashMap<>();
+    private Int2ObjectMap<RealRegionEntry<T>> spareEntries = new Int2ObjectLinkedOpenHashMap<>();
     private final Int2ObjectMap<RealRegionEntry<T>> removedEntries = new Int2ObjectLinkedOpenHashMap<>();
     private List<RegionEntryWidget<T>> entriesList = Lists.newArrayList();
     private List<Widget> children = Lists.newArrayList();
@@ -246,16 +249,51 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
         ;
     }
     
+    /**
+     * Applies the new entries as a keyed diff against the current entries, existing entries are
+     * kept and moved, and only the entries from the first shifted index are laid out again.
+     */
     public void setEntries(List<T> newEntries, RemovalMode removalMode) {
-        newEntries = Lists.newArrayList(newEntries);
-        newEntries.removeIf(entry -> entry == null || entry.isEntryInvalid());
-        
         int entrySize = entrySize();
-        IntSet newFavoritesHash = new IntOpenHashSet(CollectionUtils.mapToInt(newEntries, T::hashCode));
-        List<RealRegionEntry<T>> removedEntries = Lists.newArrayList(this.entries.values());
-        removedEntries.removeIf(entry -> newFavoritesHash.contains(entry.hashIgnoreAmount()));
+        Int2ObjectMap<RealRegionEntry<T>> prevEntries = this.entries;
+        Int2ObjectMap<RealRegionEntry<T>> nextEntries = this.spareEntries;
+        Set<RealRegionEntry<T>> addedEntries = new ReferenceLinkedOpenHashSet<>();
+        int firstShifted = -1;
+        int kept = 0;
+        
+        for (T regionEntry : newEntries) {
+            if (regionEntry == null || regionEntry.isEntryInvalid()) continue;
+            int hash = regionEntry.hashCode();
+            if (nextEntries.containsKey(hash)) continue;
+            RealRegionEntry<T> realEntry = prevEntries.get(hash);
+            
+            if (realEntry == null) {
+                realEntry = new RealRegionEntry<>(this, regionEntry, entrySize);
+                addedEntries.add(realEntry);
+                if (!ConfigObject.getInstance().isFavoritesAnimated()) realEntry.size.setAs(entrySize * 100);
+                else realEntry.size.setTo(entrySize * 100, 300);
+            } else {
+                kept++;
+            }
+            
+            if (firstShifted == -1 && realEntry.index != nextEntries.size()) {
+                firstShifted = nextEntries.size();
+            }
+            nextEntries.put(hash, realEntry);
+        }
+        
+        List<RealRegionEntry<T>> removedEntries = Collections.emptyList();
+        if (kept != prevEntries.size()) {
+            removedEntries = new ArrayList<>(prevEntries.size() - kept);
+            for (RealRegionEntry<T> entry : prevEntries.values()) {
+                if (nextEntries.get(entry.hashIgnoreAmount()) != entry) {
+                    removedEntries.add(entry);
+                }
+            }
+        }
         
         if (!removedEntries.isEmpty() && removalMode == RemovalMode.THROW_EXCEPTION) {
+            nextEntries.clear();
             throw new IllegalStateException("Cannot remove entries from region " + this + ": " + removedEntries);
         } else if (removalMode == RemovalMode.DISAPPEAR) {
             for (RealRegionEntry<T> removedEntry : removedEntries) {
@@ -264,27 +302,22 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
             }
         }
         
-        List<RealRegionEntry<T>> addedEntries = new ArrayList<>();
-        Int2ObjectMap<RealRegionEntry<T>> prevEntries = new Int2ObjectOpenHashMap<>(entries);
-        this.entries.clear();
+        prevEntries.clear();
+        this.spareEntries = prevEntries;
+        this.entries = nextEntries;
         
-        for (T regionEntry : newEntries) {
-            RealRegionEntry<T> realEntry = prevEntries.get(regionEntry.hashCode());
-            
-            if (realEntry == null) {
-                realEntry = new RealRegionEntry<>(this, regionEntry, entrySize);
-                addedEntries.add(realEntry);
-            }
-            
-            if (!ConfigObject.getInstance().isFavoritesAnimated()) realEntry.size.setAs(entrySize * 100);
-            else realEntry.size.setTo(entrySize * 100, 300);
-            entries.put(realEntry.hashIgnoreAmount(), realEntry);
+        applyNewEntriesList();
+        if (firstShifted != -1) {
+            updateEntriesPosition(entry -> !addedEntries.contains(entry), firstShifted);
         }
         
-        applyNewEntriesList();
-        updateEntriesPosition(entry -> prevEntries.containsKey(entry.hashIgnoreAmount()));
+        int index = 0;
+        for (RealRegionEntry<T> entry : nextEntries.values()) {
+            entry.index = index++;
+        }
         
         for (RealRegionEntry<T> removedEntry : removedEntries) {
+            removedEntry.index = -1;
             this.listener.onRemove(removedEntry);
         }
         
@@ -303,14 +336,26 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
     }
     
     public void applyNewEntriesList() {
-        this.entriesList = Stream.concat(entries.values().stream().map(RealRegionEntry::getWidget), removedEntries.values().stream().map(RealRegionEntry::getWidget)).collect(Collectors.toList());
-        this.children = Stream.<Stream<Widget>>of(
-                entries.values().stream().map(RealRegionEntry::getWidget),
-                removedEntries.values().stream().map(RealRegionEntry::getWidget)
-        ).flatMap(Function.identity()).collect(Collectors.toList());
+        List<RegionEntryWidget<T>> entriesList = new ArrayList<>(entries.size() + removedEntries.size());
+        for (RealRegionEntry<T> entry : entries.values()) {
+            entriesList.add(entry.getWidget());
+        }
+        for (RealRegionEntry<T> entry : removedEntries.values()) {
+            entriesList.add(entry.getWidget());
+        }
+        this.entriesList = entriesList;
+        this.children = new ArrayList<>(entriesList);
     }
     
     public void updateEntriesPosition(Predicate<RealRegionEntry<T>> animated) {
+        updateEntriesPosition(animated, 0);
+    }
+    
+    /**
+     * Lays out the entries, only moving the entries from {@code fromIndex}, the entries before
+     * it are expected to be at their slots already.
+     */
+    public void updateEntriesPosition(Predicate<RealRegionEntry<T>> animated, int fromIndex) {
         int entrySize = entrySize();
         this.blockedCount = 0;
         this.innerBounds = updateInnerBounds(bounds);
@@ -320,6 +365,7 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
         int releaseIndex = getReleaseIndex(null);
         
         int slotIndex = 0;
+        int index = 0;
         for (RealRegionEntry<T> entry : this.entries.values()) {
             while (true) {
                 int xPos = currentX * entrySize + innerBounds.x;
@@ -336,12 +382,15 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
                         continue;
                     }
                     
-                    entry.moveTo(animated.test(entry), xPos, yPos);
+                    if (index >= fromIndex) {
+                        entry.moveTo(animated.test(entry), xPos, yPos);
+                    }
                     break;
                 } else {
                     blockedCount++;
                 }
             }
+            index++;
         }
     }
     
@@ -36,6 +36,10 @@ public class RealRegionEntry<T extends RegionEntry<T>> {
     private T entry;
     private final RegionEntryWidget<T> widget;
     private boolean hidden;
+    /**
+     * The index of this entry in its region as of the last {@link EntryStacksRegionWidget#setEntries}, or {@code -1}.
+     */
+    int index = -1;
     public ValueAnimator<FloatingPoint> pos = ValueAnimator.ofFloatingPoint();
     public NumberAnimator<Double> size = ValueAnimator.ofDouble();
     
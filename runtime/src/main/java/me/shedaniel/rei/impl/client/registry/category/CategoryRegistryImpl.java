@@ -25,6 +25,8 @@ package me.shedaniel.rei.impl.client.registry.category;
 
 import com.google.common.base.MoreObjects;
 import dev.architectury.event.EventResult;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.client.registry.category.ButtonArea;
 import me.shedaniel.rei.api.client.registry.category.CategoryRegistry;
@@ -35,8 +37,12 @@ import me.shedaniel.rei.api.client.registry.display.DisplayCategoryView;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.entry.EntryIngredient;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryIngredients;
+import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.common.InternalLogger;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.Consumer;
@@ -47,6 +53,12 @@ public class CategoryRegistryImpl implements CategoryRegistry {
     private final Map<CategoryIdentifier<?>, Configuration<?>> categories = new LinkedHashMap<>();
     private final Map<CategoryIdentifier<?>, List<Consumer<CategoryConfiguration<?>>>> listeners = new HashMap<>();
     private final List<CategoryVisibilityPredicate> visibilityPredicates = new ArrayList<>();
+    /**
+     * Fuzzy hash of workstation stacks to the categories they are workstations of, built at the end of the reload,
+     * {@code null} while reloading.
+     */
+    @Nullable
+    private Long2ObjectMap<Set<CategoryIdentifier<?>>> workstationIndex;
     
     @Override
     public void acceptPlugin(REIClientPlugin plugin) {
@@ -58,10 +70,22 @@ public class CategoryRegistryImpl implements CategoryRegistry {
         this.categories.clear();
         this.listeners.clear();
         this.visibilityPredicates.clear();
+        synchronized (this) {
+            this.workstationIndex = null;
+        }
     }
     
     @Override
     public void endReload() {
+        Long2ObjectMap<Set<CategoryIdentifier<?>>> workstationIndex = new Long2ObjectOpenHashMap<>();
+        for (Configuration<?> configuration : this.categories.values()) {
+            for (EntryIngredient workstation : configuration.getWorkstations()) {
+                indexWorkstation(workstationIndex, configuration.getCategoryIdentifier(), workstation);
+            }
+        }
+        synchronized (this) {
+            this.workstationIndex = workstationIndex;
+        }
         InternalLogger.getInstance().debug("Registered %d categories: %s", this.categories.size(),
                 this.categories.values().stream().map(configuration -> configuration.getCategory().getTitle().getString())
                         .collect(Collectors.joining(", ")));
@@ -69,7 +93,7 @@ public class CategoryRegistryImpl implements CategoryRegistry {
     
     @Override
     public <T extends Display> void add(DisplayCategory<T> category, Consumer<CategoryConfiguration<T>> configurator) {
-        Configuration<T> configuration = new Configuration<>(category);
+        Configuration<T> configuration = new Configuration<>(this, category);
         this.categories.put(category.getCategoryIdentifier(), configuration);
         configurator.accept(configuration);
         
@@ -142,20 +166,82 @@ public class CategoryRegistryImpl implements CategoryRegistry {
         return Collections.unmodifiableList(visibilityPredicates);
     }
     
+    private static void indexWorkstation(Long2ObjectMap<Set<CategoryIdentifier<?>>> workstationIndex, CategoryIdentifier<?> category, EntryIngredient workstation) {
+        for (EntryStack<?> stack : workstation) {
+            workstationIndex.computeIfAbsent(EntryStacks.hashFuzzy(stack), $ -> new LinkedHashSet<>()).add(category);
+        }
+    }
+    
+    private synchronized void onWorkstationsAdded(CategoryIdentifier<?> category, EntryIngredient... stations) {
+        if (this.workstationIndex != null) {
+            for (EntryIngredient station : stations) {
+                indexWorkstation(this.workstationIndex, category, station);
+            }
+        }
+    }
+    
+    /**
+     * Returns the categories that any of the given stacks is a workstation of.
+     *
+     * @param stacks the stacks to look up
+     * @return the categories of which the stacks are workstations
+     */
+    public Set<CategoryIdentifier<?>> getWorkstationCategories(Iterable<? extends EntryStack<?>> stacks) {
+        Set<CategoryIdentifier<?>> result = new HashSet<>();
+        synchronized (this) {
+            if (this.workstationIndex == null) {
+                for (Configuration<?> configuration : this.categories.values()) {
+                    for (EntryStack<?> stack : stacks) {
+                        if (isWorkstationOf(configuration, stack)) {
+                            result.add(configuration.getCategoryIdentifier());
+                            break;
+                        }
+                    }
+                }
+                return result;
+            }
+            
+            for (EntryStack<?> stack : stacks) {
+                Set<CategoryIdentifier<?>> candidates = this.workstationIndex.get(EntryStacks.hashFuzzy(stack));
+                if (candidates == null) continue;
+                for (CategoryIdentifier<?> candidate : candidates) {
+                    // Verify the candidate, the hash may collide
+                    Configuration<?> configuration = this.categories.get(candidate);
+                    if (!result.contains(candidate) && configuration != null && isWorkstationOf(configuration, stack)) {
+                        result.add(candidate);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+    
+    private static boolean isWorkstationOf(Configuration<?> configuration, EntryStack<?> stack) {
+        for (EntryIngredient ingredient : configuration.getWorkstations()) {
+            if (EntryIngredients.testFuzzy(ingredient, stack)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     private static class Configuration<T extends Display> implements CategoryConfiguration<T> {
+        private final CategoryRegistryImpl registry;
         private final DisplayCategory<T> category;
         private final List<EntryIngredient> workstations = Collections.synchronizedList(new ArrayList<>());
         private final List<CategoryExtensionProvider<T>> extensionProviders = Collections.synchronizedList(new ArrayList<>());
         
         private ButtonArea plusButtonArea = ButtonArea.defaultArea();
         
-        public Configuration(DisplayCategory<T> category) {
+        public Configuration(CategoryRegistryImpl registry, DisplayCategory<T> category) {
+            this.registry = registry;
             this.category = category;
         }
         
         @Override
         public void addWorkstations(EntryIngredient... stations) {
             this.workstations.addAll(Arrays.asList(stations));
+            this.registry.onWorkstationsAdded(getCategoryIdentifier(), stations);
         }
         
         @Override
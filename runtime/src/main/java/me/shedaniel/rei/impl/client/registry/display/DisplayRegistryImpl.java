@@ -27,7 +27,9 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ForwardingMap;
 import com.google.common.collect.ForwardingMapEntry;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 import dev.architectury.event.EventResult;
+import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.client.registry.category.CategoryRegistry;
 import me.shedaniel.rei.api.client.registry.display.DisplayCategory;
@@ -39,6 +41,8 @@ import me.shedaniel.rei.api.client.registry.display.visibility.DisplayVisibility
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
+import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.impl.client.config.ConfigObjectImpl;
 import me.shedaniel.rei.impl.common.InternalLogger;
 import me.shedaniel.rei.impl.common.registry.RecipeManagerContextImpl;
 import net.minecraft.world.item.crafting.Recipe;
@@ -48,6 +52,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
@@ -55,6 +61,7 @@ import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
 public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugin> implements DisplayRegistry {
+    private static final int FILL_PARTITION_SIZE = 250;
     private final WeakHashMap<Display, Object> displaysBase = new WeakHashMap<>();
     private final Map<CategoryIdentifier<?>, DisplaysList> displays = new ConcurrentHashMap<>();
     private final Map<CategoryIdentifier<?>, List<Display>> unmodifiableDisplays;
@@ -62,6 +69,7 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
     private final List<DynamicDisplayGenerator<?>> globalDisplayGenerators = new ArrayList<>();
     private final List<DisplayVisibilityPredicate> visibilityPredicates = new ArrayList<>();
     private final List<DisplayFiller<?>> fillers = new ArrayList<>();
+    private final Map<Class<?>, DisplayFiller<?>[]> fillersByClass = new ConcurrentHashMap<>();
     private final MutableInt displayCount = new MutableInt(0);
     
     public DisplayRegistryImpl() {
@@ -231,18 +239,20 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
     
     @Override
     public <T, D extends Display> void registerFiller(Class<T> typeClass, Predicate<? extends T> predicate, Function<? extends T, D> filler) {
-        registerFiller(o -> typeClass.isInstance(o) && ((Predicate<T>) predicate).test((T) o), o -> ((Function<T, D>) filler).apply((T) o));
+        registerFiller(typeClass, (o, s) -> ((Predicate<T>) predicate).test(o), filler);
     }
     
     @Override
     public <T, D extends Display> void registerFiller(Class<T> typeClass, BiPredicate<? extends T, DisplayAdditionReasons> predicate, Function<? extends T, D> filler) {
-        fillers.add(new DisplayFiller<>((o, s) -> typeClass.isInstance(o) && ((BiPredicate<Object, DisplayAdditionReasons>) predicate).test(o, s), (Function<Object, D>) filler));
+        fillers.add(new DisplayFiller<>(typeClass, (BiPredicate<Object, DisplayAdditionReasons>) predicate, (Function<Object, D>) filler));
+        fillersByClass.clear();
         InternalLogger.getInstance().debug("Added display filter: %s for %s", filler, typeClass.getName());
     }
     
     @Override
     public <D extends Display> void registerFiller(Predicate<?> predicate, Function<?, D> filler) {
-        fillers.add(new DisplayFiller<>((o, s) -> ((Predicate<Object>) predicate).test(o), (Function<Object, D>) filler));
+        fillers.add(new DisplayFiller<>(null, (o, s) -> ((Predicate<Object>) predicate).test(o), (Function<Object, D>) filler));
+        fillersByClass.clear();
         InternalLogger.getInstance().debug("Added display filter: %s", filler);
     }
     
@@ -253,6 +263,7 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         this.displayGenerators.clear();
         this.visibilityPredicates.clear();
         this.fillers.clear();
+        this.fillersByClass.clear();
         this.displayCount.setValue(0);
     }
     
@@ -260,9 +271,14 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
     public void endReload() {
         if (!fillers.isEmpty()) {
             List<Recipe<?>> allSortedRecipes = getAllSortedRecipes();
-            for (int i = allSortedRecipes.size() - 1; i >= 0; i--) {
-                Recipe<?> recipe = allSortedRecipes.get(i);
-                addWithReason(recipe, DisplayAdditionReason.RECIPE_MANAGER);
+            fillersByClass.clear();
+            if (((ConfigObjectImpl) ConfigObject.getInstance()).doesFillDisplaysInParallel() && allSortedRecipes.size() > FILL_PARTITION_SIZE * 4) {
+                fillRecipesInParallel(Lists.reverse(allSortedRecipes));
+            } else {
+                for (int i = allSortedRecipes.size() - 1; i >= 0; i--) {
+                    Recipe<?> recipe = allSortedRecipes.get(i);
+                    addWithReason(recipe, DisplayAdditionReason.RECIPE_MANAGER);
+                }
             }
         }
         
@@ -275,12 +291,50 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         InternalLogger.getInstance().debug("Registered %d displays", displayCount.getValue());
     }
     
+    /**
+     * Fills the recipes in partitions on the common pool, the displays are then
+     * added on the current thread in the original order, so the registry stays deterministic.
+     */
+    private void fillRecipesInParallel(List<Recipe<?>> recipes) {
+        List<List<Recipe<?>>> partitions = new ArrayList<>();
+        List<CompletableFuture<List<Collection<Display>>>> futures = new ArrayList<>();
+        for (List<Recipe<?>> partition : CollectionUtils.partition(recipes, FILL_PARTITION_SIZE)) {
+            partitions.add(partition);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<Collection<Display>> filled = new ArrayList<>(partition.size());
+                for (Recipe<?> recipe : partition) {
+                    filled.add(tryFillDisplay(recipe, DisplayAdditionReason.RECIPE_MANAGER));
+                }
+                return filled;
+            }));
+        }
+        
+        for (int i = 0; i < partitions.size(); i++) {
+            List<Recipe<?>> partition = partitions.get(i);
+            List<Collection<Display>> filled;
+            try {
+                filled = futures.get(i).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+            for (int j = 0; j < partition.size(); j++) {
+                Recipe<?> recipe = partition.get(j);
+                for (Display display : filled.get(j)) {
+                    add(display, recipe);
+                }
+            }
+        }
+    }
+    
     @Override
     public <T> Collection<Display> tryFillDisplay(T value, DisplayAdditionReason... reason) {
         if (value instanceof Display) return Collections.singleton((Display) value);
         List<Display> displays = null;
         DisplayAdditionReasons reasons = reason.length == 0 ? DisplayAdditionReasons.Impl.EMPTY : new DisplayAdditionReasons.Impl(reason);
-        for (DisplayFiller<?> filler : fillers) {
+        for (DisplayFiller<?> filler : getFillersFor(value)) {
             Display display = tryFillDisplayGenerics(filler, value, reasons);
             if (display != null) {
                 if (displays == null) displays = Collections.singletonList(display);
@@ -296,6 +350,24 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         return Collections.emptyList();
     }
     
+    /**
+     * Returns the fillers applicable to the value, in the order they were registered.
+     * Fillers declaring a type class are only included if the value is an instance of it,
+     * predicate-only fillers are always included.
+     * The result is cached per concrete class of the value.
+     */
+    private DisplayFiller<?>[] getFillersFor(Object value) {
+        if (value == null) {
+            return fillers.stream()
+                    .filter(filler -> filler.typeClass() == null)
+                    .toArray(DisplayFiller[]::new);
+        }
+        
+        return fillersByClass.computeIfAbsent(value.getClass(), clazz -> fillers.stream()
+                .filter(filler -> filler.typeClass() == null || filler.typeClass().isAssignableFrom(clazz))
+                .toArray(DisplayFiller[]::new));
+    }
+    
     private <D extends Display> D tryFillDisplayGenerics(DisplayFiller<D> filler, Object value, DisplayAdditionReasons reasons) {
         try {
             if (filler.predicate.test(value, reasons)) {
@@ -315,6 +387,8 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
     }
     
     private record DisplayFiller<D extends Display>(
+            @Nullable Class<?> typeClass,
+            
             BiPredicate<Object, DisplayAdditionReasons> predicate,
             
             Function<Object, D> mappingFunction
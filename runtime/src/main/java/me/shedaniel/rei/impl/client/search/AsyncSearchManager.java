@@ -29,6 +29,8 @@ import me.shedaniel.rei.api.client.search.SearchFilter;
 import me.shedaniel.rei.api.client.search.SearchProvider;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.impl.client.search.argument.Argument;
+import net.minecraft.Util;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -39,15 +41,19 @@ import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 public class AsyncSearchManager implements Supplier<List<EntryStack<?>>> {
+    private static final long PARTIAL_REFRESH_INTERVAL = 500;
     private final Supplier<List<EntryStack<?>>> stacksProvider;
     private final Supplier<Predicate<EntryStack<?>>> additionalPredicateSupplier;
     private final UnaryOperator<EntryStack<?>> transformer;
     private Predicate<EntryStack<?>> additionalPredicate;
-    private SearchFilter filter;
-    private boolean dirty = false;
-    private boolean filterDirty = false;
+    private volatile SearchFilter filter;
+    private volatile boolean dirty = false;
+    private volatile boolean filterDirty = false;
+    private volatile SearchFilter preparedFilter;
+    private volatile long partialProgress = -1;
+    private volatile long partialTime;
     private CompletableFuture<List<EntryStack<?>>> future;
-    private List<EntryStack<?>> last;
+    private volatile List<EntryStack<?>> last;
     
     public AsyncSearchManager(Supplier<List<EntryStack<?>>> stacksProvider, Supplier<Predicate<EntryStack<?>>> additionalPredicateSupplier, UnaryOperator<EntryStack<?>> transformer) {
         this.stacksProvider = stacksProvider;
@@ -79,6 +85,20 @@ public class AsyncSearchManager implements Supplier<List<EntryStack<?>>> {
         return filterDirty;
     }
     
+    /**
+     * Returns whether the last result was searched while search data was still being cached on the client thread,
+     * and more data has been cached since. This returns {@code true} at most once per partial result, and at most
+     * every {@link #PARTIAL_REFRESH_INTERVAL} milliseconds, the caller should then search again to include the new matches.
+     */
+    public boolean pollNewSearchData() {
+        long progress = this.partialProgress;
+        if (progress == -1 || progress == Argument.getClientThreadProgress() || Util.getMillis() - partialTime < PARTIAL_REFRESH_INTERVAL) {
+            return false;
+        }
+        this.partialProgress = -1;
+        return true;
+    }
+    
     public Future<Void> getAsync(Consumer<List<EntryStack<?>>> consumer) {
         if (future == null || future.isCancelled() || future.isDone() || future.isCompletedExceptionally()) {
             if (future != null) future.cancel(true);
@@ -87,6 +107,13 @@ public class AsyncSearchManager implements Supplier<List<EntryStack<?>>> {
                         throwable.printStackTrace();
                         return null;
                     });
+        } else if (isDirty()) {
+            // A search is still running with an older filter, queue another pass behind it so the latest filter is not lost
+            future = future.thenApplyAsync($ -> get())
+                    .exceptionally(throwable -> {
+                        throwable.printStackTrace();
+                        return null;
+                    });
         }
         return future.thenAccept(consumer);
     }
@@ -94,52 +121,74 @@ public class AsyncSearchManager implements Supplier<List<EntryStack<?>>> {
     @Override
     public List<EntryStack<?>> get() {
         if (isDirty()) {
-            this.additionalPredicate = additionalPredicateSupplier.get();
-            int searchPartitionSize = ConfigObject.getInstance().getAsyncSearchPartitionSize();
-            List<EntryStack<?>> stacks = stacksProvider.get();
-            last = new ArrayList<>();
-            
-            if (!stacks.isEmpty()) {
-                if (filterDirty) {
+            this.dirty = false;
+            try {
+                last = search();
+            } catch (Throwable throwable) {
+                // Keep the manager dirty so the next pass retries instead of serving the old result
+                this.dirty = true;
+                throw throwable;
+            }
+        }
+        
+        return last;
+    }
+    
+    private List<EntryStack<?>> search() {
+        SearchFilter filter = this.filter;
+        Predicate<EntryStack<?>> additionalPredicate = this.additionalPredicate = additionalPredicateSupplier.get();
+        int searchPartitionSize = ConfigObject.getInstance().getAsyncSearchPartitionSize();
+        List<EntryStack<?>> stacks = stacksProvider.get();
+        List<EntryStack<?>> result = new ArrayList<>();
+        
+        if (!stacks.isEmpty()) {
+            // Compare against the prepared filter, the flag may have been cleared by a pass still using an older filter
+            if (filterDirty || preparedFilter != filter) {
+                filterDirty = false;
+                try {
                     filter.prepareFilter(stacks);
-                    filterDirty = false;
+                } catch (Throwable throwable) {
+                    filterDirty = true;
+                    throw throwable;
                 }
-                
-                if (ConfigObject.getInstance().shouldAsyncSearch() && stacks.size() > searchPartitionSize * 4) {
-                    List<CompletableFuture<List<EntryStack<?>>>> futures = Lists.newArrayList();
-                    for (Iterable<EntryStack<?>> partitionStacks : CollectionUtils.partition(stacks, searchPartitionSize)) {
-                        futures.add(CompletableFuture.supplyAsync(() -> {
-                            List<EntryStack<?>> filtered = Lists.newArrayList();
-                            for (EntryStack<?> stack : partitionStacks) {
-                                if (stack != null && matches(stack) && additionalPredicate.test(stack)) {
-                                    filtered.add(transformer.apply(stack));
-                                }
+                preparedFilter = filter;
+            }
+            
+            partialTime = Util.getMillis();
+            partialProgress = Argument.isPreparingOnClientThread() ? Argument.getClientThreadProgress() : -1;
+            
+            if (ConfigObject.getInstance().shouldAsyncSearch() && stacks.size() > searchPartitionSize * 4) {
+                List<CompletableFuture<List<EntryStack<?>>>> futures = Lists.newArrayList();
+                for (Iterable<EntryStack<?>> partitionStacks : CollectionUtils.partition(stacks, searchPartitionSize)) {
+                    futures.add(CompletableFuture.supplyAsync(() -> {
+                        List<EntryStack<?>> filtered = Lists.newArrayList();
+                        for (EntryStack<?> stack : partitionStacks) {
+                            if (stack != null && filter.test(stack) && additionalPredicate.test(stack)) {
+                                filtered.add(transformer.apply(stack));
                             }
-                            return filtered;
-                        }));
-                    }
-                    try {
-                        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
-                    } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                        e.printStackTrace();
-                    }
-                    for (CompletableFuture<List<EntryStack<?>>> future : futures) {
-                        List<EntryStack<?>> now = future.getNow(null);
-                        if (now != null) last.addAll(now);
-                    }
-                } else {
-                    for (EntryStack<?> stack : stacks) {
-                        if (matches(stack) && additionalPredicate.test(stack)) {
-                            last.add(transformer.apply(stack));
                         }
+                        return filtered;
+                    }));
+                }
+                try {
+                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+                } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                    e.printStackTrace();
+                }
+                for (CompletableFuture<List<EntryStack<?>>> future : futures) {
+                    List<EntryStack<?>> now = future.getNow(null);
+                    if (now != null) result.addAll(now);
+                }
+            } else {
+                for (EntryStack<?> stack : stacks) {
+                    if (filter.test(stack) && additionalPredicate.test(stack)) {
+                        result.add(transformer.apply(stack));
                     }
                 }
             }
-            
-            dirty = false;
         }
         
-        return last;
+        return result;
     }
     
     public boolean matches(EntryStack<?> stack) {
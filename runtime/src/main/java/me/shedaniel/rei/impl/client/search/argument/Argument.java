@@ -24,7 +24,10 @@
 package me.shedaniel.rei.impl.client.search.argument;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
+import com.mojang.blaze3d.systems.RenderSystem;
 import it.unimi.dsi.fastutil.Pair;
 import it.unimi.dsi.fastutil.ints.IntIntMutablePair;
 import it.unimi.dsi.fastutil.ints.IntIntPair;
@@ -47,6 +50,7 @@ import me.shedaniel.rei.impl.client.search.IntRange;
 import me.shedaniel.rei.impl.client.search.argument.type.ArgumentType;
 import me.shedaniel.rei.impl.client.search.argument.type.ArgumentTypesRegistry;
 import me.shedaniel.rei.impl.client.search.result.ArgumentApplicableResult;
+import me.shedaniel.rei.impl.client.util.TimeSlicedExecutor;
 import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -56,15 +60,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Locale;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -74,9 +78,23 @@ public class Argument<T, R> {
     public static final Short2ObjectMap<Long2ObjectMap<Object>> SEARCH_CACHE = Short2ObjectMaps.synchronize(new Short2ObjectOpenHashMap<>());
     private static final Object NO_CACHE = new Object();
     private static final AtomicReference<String> lastLanguage = new AtomicReference<>();
+    /**
+     * The number of client thread batches still caching search data, and the number of stacks they have cached,
+     * searches ran while batches are pending are partial, and are re-ran as the cached data lands.
+     */
+    private static final AtomicInteger PENDING_CLIENT_BATCHES = new AtomicInteger();
+    private static final AtomicLong CLIENT_CACHED_STACKS = new AtomicLong();
+    /**
+     * Baked queries, shared by the search field, the syntax highlighter and the filtering rules.
+     * The input method specific compilation is memoized on the arguments themselves.
+     */
+    private static final Cache<BakedQueryKey, BakedQuery> BAKED_QUERIES = CacheBuilder.newBuilder()
+            .maximumSize(64)
+            .build();
     private ArgumentType<T, R> argumentType;
     private String text;
     private T filterData;
+    private volatile CompiledFilters<?> compiledFilters;
     private boolean regular;
     private final int start;
     private final int end;
@@ -112,6 +130,56 @@ public class Argument<T, R> {
     }
     
     public static List<CompoundArgument> bakeArguments(String filter, @Nullable ProcessedSink sink) {
+        BakedQueryKey key = new BakedQueryKey(filter, getSearchModesHash());
+        BakedQuery query = BAKED_QUERIES.getIfPresent(key);
+        if (query == null) {
+            List<Consumer<ProcessedSink>> events = new ArrayList<>();
+            List<CompoundArgument> arguments = _bakeArguments(filter, new ProcessedSink() {
+                @Override
+                public void addQuote(int index) {
+                    events.add(sink -> sink.addQuote(index));
+                }
+                
+                @Override
+                public void addSplitter(int index) {
+                    events.add(sink -> sink.addSplitter(index));
+                }
+                
+                @Override
+                public void addPart(Argument<?, ?> argument, boolean usingGrammar, Collection<IntRange> grammarRanges, int index) {
+                    events.add(sink -> sink.addPart(argument, usingGrammar, grammarRanges, index));
+                }
+            });
+            BAKED_QUERIES.put(key, query = new BakedQuery(Collections.unmodifiableList(arguments), events));
+        }
+        if (sink != null) {
+            for (Consumer<ProcessedSink> event : query.events()) {
+                event.accept(sink);
+            }
+        }
+        return query.arguments();
+    }
+    
+    public static void invalidateBakedQueries() {
+        BAKED_QUERIES.invalidateAll();
+    }
+    
+    private static int getSearchModesHash() {
+        int hash = 1;
+        for (ArgumentType<?, ?> type : ArgumentTypesRegistry.ARGUMENT_TYPE_LIST) {
+            hash = 31 * hash + type.getSearchMode().hashCode();
+        }
+        return hash;
+    }
+    
+    private record BakedQueryKey(String filter, int searchModesHash) {}
+    
+    /**
+     * A baked query, with the events emitted while baking it, so they can be replayed into a {@link ProcessedSink}.
+     */
+    private record BakedQuery(List<CompoundArgument> arguments, List<Consumer<ProcessedSink>> events) {}
+    
+    private static List<CompoundArgument> _bakeArguments(String filter, @Nullable ProcessedSink sink) {
         List<CompoundArgument> compoundArguments = Lists.newArrayList();
         int tokenStartIndex = 0;
         
@@ -181,7 +249,8 @@ public class Argument<T, R> {
     
     public static boolean matches(EntryStack<?> stack, List<CompoundArgument> compoundArguments, InputMethod<?> inputMethod) {
         if (compoundArguments.isEmpty()) return true;
-        String newLanguage = Minecraft.getInstance().options.languageCode;
+        Minecraft minecraft = Minecraft.getInstance();
+        String newLanguage = minecraft == null ? null : minecraft.options.languageCode;
         if (!Objects.equals(lastLanguage.getAndSet(newLanguage), newLanguage)) {
             SEARCH_CACHE.clear();
         }
@@ -206,7 +275,7 @@ public class Argument<T, R> {
         ResultSinkImpl<T> sink = new ResultSinkImpl<>(inputMethod);
         
         for (Argument<?, ?> argument : alternativeArgument) {
-            sink.filters = inputMethod.expendFilter(argument.getText());
+            sink.filters = argument.getCompiledFilters(inputMethod);
             if (matches(argument.getArgument(), stack, hashExact, argument.filterData, sink) == argument.isRegular()) {
                 return true;
             }
@@ -228,18 +297,47 @@ public class Argument<T, R> {
         Long2ObjectMap<Object> map = getSearchCache(argumentType);
         Object value = map.get(hashExact);
         if (value == null) {
-            value = argumentType.cacheData(stack);
-            map.put(hashExact, value == null ? NO_CACHE : value);
+            if (RenderSystem.isOnRenderThread() || argumentType.isThreadSafe(stack)) {
+                value = argumentType.cacheData(stack);
+                map.put(hashExact, value == null ? NO_CACHE : value);
+            } else {
+                // Still queued to be cached on the client thread, match without data until it lands
+                value = NO_CACHE;
+            }
         }
         sink.matches = false;
         argumentType.matches(value == NO_CACHE ? null : (B) value, stack, (T) filterData, sink);
         return sink.matches;
     }
     
+    /**
+     * The filters of an argument expanded by an input method, compiled once per argument
+     * instead of once per matched stack.
+     */
+    private record CompiledFilters<T>(InputMethod<T> inputMethod, List<T> filters,
+                                      @Nullable List<InputMethodMatcher.Compiled> matchers) {
+        private static <T> CompiledFilters<T> compile(InputMethod<T> inputMethod, String text) {
+            List<T> filters = Lists.newArrayList(inputMethod.expendFilter(text));
+            List<InputMethodMatcher.Compiled> matchers = null;
+            if (inputMethod instanceof CharacterUnpackingInputMethod im) {
+                matchers = CollectionUtils.map(filters, filter -> InputMethodMatcher.compile(im, (IntList) filter));
+            }
+            return new CompiledFilters<>(inputMethod, filters, matchers);
+        }
+    }
+    
+    private <T> CompiledFilters<T> getCompiledFilters(InputMethod<T> inputMethod) {
+        CompiledFilters<?> filters = this.compiledFilters;
+        if (filters == null || filters.inputMethod() != inputMethod) {
+            this.compiledFilters = filters = CompiledFilters.compile(inputMethod, getText());
+        }
+        return (CompiledFilters<T>) filters;
+    }
+    
     private static class ResultSinkImpl<T> implements ArgumentType.ResultSink {
         private final InputMethod<T> inputMethod;
         private boolean matches;
-        private Iterable<T> filters;
+        private CompiledFilters<T> filters;
         
         public ResultSinkImpl(InputMethod<T> inputMethod) {
             this.inputMethod = inputMethod;
@@ -253,14 +351,14 @@ public class Argument<T, R> {
         @Override
         public boolean testString(String text) {
             if (matches) return true;
-            if (inputMethod instanceof CharacterUnpackingInputMethod im) {
-                for (T filter : filters) {
-                    if (InputMethodMatcher.contains(im, IntList.of(text.codePoints().toArray()), (IntList) filter)) {
+            if (filters.matchers() != null) {
+                for (InputMethodMatcher.Compiled matcher : filters.matchers()) {
+                    if (matcher.contains(text)) {
                         return matches = true;
                     }
                 }
             } else {
-                for (T filter : filters) {
+                for (T filter : filters.filters()) {
                     if (inputMethod.contains(text, filter)) {
                         return matches = true;
                     }
@@ -275,6 +373,24 @@ public class Argument<T, R> {
     public static IntIntPair prepareStage = null;
     public static IntIntPair[] currentStages = null;
     
+    /**
+     * Returns whether search data is still being cached on the client thread, searches ran meanwhile are partial.
+     */
+    public static boolean isPreparingOnClientThread() {
+        return PENDING_CLIENT_BATCHES.get() > 0;
+    }
+    
+    /**
+     * Returns a counter that changes every time search data is cached on the client thread.
+     */
+    public static long getClientThreadProgress() {
+        return CLIENT_CACHED_STACKS.get();
+    }
+    
+    /**
+     * Prepares the search data of the stacks, stacks that can't be cached off the client thread are queued to be cached
+     * there, without waiting for them, see {@link #isPreparingOnClientThread()}.
+     */
     public static void prepareFilter(Collection<EntryStack<?>> stacks, Collection<ArgumentType<?, ?>> argumentTypes) {
         if (prepareStage != null || currentStages != null) return;
         try {
@@ -285,6 +401,7 @@ public class Argument<T, R> {
             List<HashedEntryStackWrapper> hashedStacks = CollectionUtils.map(stacks, HashedEntryStackWrapper::new);
             int searchPartitionSize = ConfigObject.getInstance().getAsyncSearchPartitionSize();
             boolean async = ConfigObject.getInstance().shouldAsyncSearch() && stacks.size() > searchPartitionSize * 4;
+            boolean clientThread = RenderSystem.isOnRenderThread();
             List<CompletableFuture<Long2ObjectMap<Object>>> futures = Lists.newArrayList();
             List<Pair<ArgumentType<?, ?>, CompletableFuture<Long2ObjectMap<Object>>>> pairs = Lists.newArrayList();
             
@@ -292,9 +409,40 @@ public class Argument<T, R> {
                 prepareStage.first(prepareStage.firstInt() + 1);
                 Long2ObjectMap<Object> map = getSearchCache(argumentType);
                 IntIntPair currentStage = currentStages[prepareStage.firstInt() - 1] = new IntIntMutablePair(0, hashedStacks.size());
+                List<HashedEntryStackWrapper> threadSafeStacks = hashedStacks;
+                
+                if (!clientThread) {
+                    // Stacks that can't be cached off the client thread are cached there in time-sliced batches,
+                    // their data goes into the search cache as each slice completes
+                    threadSafeStacks = new ArrayList<>(hashedStacks.size());
+                    List<HashedEntryStackWrapper> clientThreadStacks = new ArrayList<>();
+                    for (HashedEntryStackWrapper stack : hashedStacks) {
+                        if (map.get(stack.hashExact()) != null || argumentType.isThreadSafe(stack.unwrap())) {
+                            threadSafeStacks.add(stack);
+                        } else {
+                            clientThreadStacks.add(stack);
+                        }
+                    }
+                    if (!clientThreadStacks.isEmpty()) {
+                        PENDING_CLIENT_BATCHES.incrementAndGet();
+                        TimeSlicedExecutor.submit(clientThreadStacks, stack -> {
+                            currentStage.first(currentStage.firstInt() + 1);
+                            
+                            if (map.get(stack.hashExact()) == null) {
+                                Object data = argumentType.cacheData(stack.unwrap());
+                                map.put(stack.hashExact(), data == null ? NO_CACHE : data);
+                            }
+                            CLIENT_CACHED_STACKS.incrementAndGet();
+                        }).whenComplete(($, throwable) -> {
+                            PENDING_CLIENT_BATCHES.decrementAndGet();
+                            CLIENT_CACHED_STACKS.incrementAndGet();
+                            if (throwable != null) throwable.printStackTrace();
+                        });
+                    }
+                }
                 
                 if (async) {
-                    for (Collection<HashedEntryStackWrapper> partitionStacks : CollectionUtils.partition(hashedStacks, searchPartitionSize)) {
+                    for (Collection<HashedEntryStackWrapper> partitionStacks : CollectionUtils.partition(threadSafeStacks, searchPartitionSize)) {
                         CompletableFuture<Long2ObjectMap<Object>> future = CompletableFuture.supplyAsync(() -> {
                             Long2ObjectMap<Object> out = new Long2ObjectArrayMap<>(searchPartitionSize + 1);
                             for (HashedEntryStackWrapper stack : partitionStacks) {
@@ -314,7 +462,7 @@ public class Argument<T, R> {
                         pairs.add(Pair.of(argumentType, future));
                     }
                 } else {
-                    for (HashedEntryStackWrapper stack : hashedStacks) {
+                    for (HashedEntryStackWrapper stack : threadSafeStacks) {
                         currentStage.first(currentStage.firstInt() + 1);
                         
                         if (map.get(stack.hashExact()) == null) {
@@ -53,6 +53,114 @@ import java.util.List;
  * SOFTWARE.
  */
 public class InputMethodMatcher {
+    /**
+     * Compiles the query into a {@link Compiled} matcher, which matches like {@link #contains(CharacterUnpackingInputMethod, IntList, IntList)}
+     * with a single allocation-free scan over the source string.
+     *
+     * @param inputMethod the input method
+     * @param query       the query code points
+     * @return the compiled matcher
+     */
+    public static Compiled compile(CharacterUnpackingInputMethod inputMethod, IntList query) {
+        return new Compiled(inputMethod, query);
+    }
+    
+    /**
+     * A query compiled into a nondeterministic automaton over the query positions, stored as a bit mask.
+     * Every source code point advances the active positions by a literal match, or by any prefix of one of its
+     * phoneme sequences; the query matches once its end position becomes active.
+     * <p>
+     * Queries longer than 63 code points fall back to the backtracking matcher.
+     */
+    public static final class Compiled {
+        private static final int MAX_LENGTH = 63;
+        private final CharacterUnpackingInputMethod inputMethod;
+        private final IntList query;
+        private final int[] codePoints;
+        private final long goal;
+        private final List<ExpendedChar>[] asciiCache = new List[128];
+        
+        private Compiled(CharacterUnpackingInputMethod inputMethod, IntList query) {
+            this.inputMethod = inputMethod;
+            this.query = query;
+            this.codePoints = query.toIntArray();
+            this.goal = codePoints.length > MAX_LENGTH ? 0 : 1L << codePoints.length;
+        }
+        
+        public boolean contains(String source) {
+            if (codePoints.length > MAX_LENGTH) {
+                return InputMethodMatcher.contains(inputMethod, IntList.of(source.codePoints().toArray()), query);
+            }
+            if (codePoints.length == 0) return !source.isEmpty();
+            long active = 0;
+            for (int i = 0; i < source.length(); ) {
+                int codePoint = source.codePointAt(i);
+                i += Character.charCount(codePoint);
+                active = advance(active | 1L, codePoint);
+                if ((active & goal) != 0) return true;
+            }
+            return false;
+        }
+        
+        public boolean contains(IntList source) {
+            if (codePoints.length > MAX_LENGTH) {
+                return InputMethodMatcher.contains(inputMethod, source, query);
+            }
+            if (codePoints.length == 0) return !source.isEmpty();
+            long active = 0;
+            for (int i = 0; i < source.size(); i++) {
+                active = advance(active | 1L, source.getInt(i));
+                if ((active & goal) != 0) return true;
+            }
+            return false;
+        }
+        
+        private long advance(long active, int codePoint) {
+            List<ExpendedChar> expended = expend(codePoint);
+            long next = 0;
+            while (active != 0) {
+                int position = Long.numberOfTrailingZeros(active);
+                active &= active - 1;
+                if (codePoints[position] == codePoint) next |= 1L << (position + 1);
+                for (int i = 0; i < expended.size(); i++) {
+                    next |= advance(position, expended.get(i).phonemes());
+                }
+            }
+            return next;
+        }
+        
+        private long advance(int position, List<IntList> phonemes) {
+            long next = 0;
+            for (int i = 0; i < phonemes.size(); i++) {
+                IntList phoneme = phonemes.get(i);
+                int length = phoneme.size();
+                int matched = 0;
+                while (matched < length && position + matched < codePoints.length && codePoints[position + matched] == phoneme.getInt(matched)) {
+                    matched++;
+                }
+                if (matched == length) {
+                    position += length;
+                    next |= 1L << position;
+                    if (position == codePoints.length) break;
+                } else {
+                    // the query may end in the middle of a phoneme
+                    if (position + matched == codePoints.length) next |= goal;
+                    break;
+                }
+            }
+            return next;
+        }
+        
+        private List<ExpendedChar> expend(int codePoint) {
+            if (codePoint >= asciiCache.length) return inputMethod.expendSourceChar(codePoint);
+            List<ExpendedChar> expended = asciiCache[codePoint];
+            if (expended == null) {
+                asciiCache[codePoint] = expended = inputMethod.expendSourceChar(codePoint);
+            }
+            return expended;
+        }
+    }
+    
     public static boolean contains(CharacterUnpackingInputMethod inputMethod, IntList s1, IntList s2) {
         if (!s1.isEmpty()) {
             for (int i = 0; i < s1.size(); i++)
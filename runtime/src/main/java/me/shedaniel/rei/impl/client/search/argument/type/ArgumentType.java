@@ -84,6 +84,14 @@ public abstract class ArgumentType<T, R> {
     
     public abstract R cacheData(EntryStack<?> stack);
     
+    /**
+     * Returns whether {@link #cacheData(EntryStack)} can be called off the client thread for the stack,
+     * data of stacks that are not thread safe is cached on the client thread in time-sliced batches.
+     */
+    public boolean isThreadSafe(EntryStack<?> stack) {
+        return true;
+    }
+    
     public abstract T prepareSearchFilter(String searchText);
     
     public abstract void matches(R data, EntryStack<?> stack, T filterData, ResultSink sink);
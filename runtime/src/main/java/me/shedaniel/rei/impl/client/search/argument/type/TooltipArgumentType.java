@@ -23,12 +23,16 @@
 
 package me.shedaniel.rei.impl.client.search.argument.type;
 
+import com.google.common.collect.Sets;
 import me.shedaniel.math.Point;
 import me.shedaniel.rei.api.client.config.ConfigObject;
+import me.shedaniel.rei.api.client.entry.type.BuiltinClientEntryTypes;
 import me.shedaniel.rei.api.client.gui.config.SearchMode;
 import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
 import me.shedaniel.rei.api.client.gui.widgets.TooltipContext;
 import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.entry.type.BuiltinEntryTypes;
+import me.shedaniel.rei.api.common.entry.type.EntryType;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.network.chat.Style;
@@ -39,7 +43,9 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.StringJoiner;
 
 @ApiStatus.Internal
@@ -48,6 +54,15 @@ public final class TooltipArgumentType extends ArgumentType<Unit, String> {
     private static final TooltipContext CONTEXT = TooltipContext.of(new Point(), TooltipFlag.Default.NORMAL, true);
     public static String INVALID = "INVALID_PIECE_OF_TOOLTIP_I_DONT_THINK_PEOPLE_WILL_EXACTLY_HAVE_THIS_REI_REI_REI";
     private static final Style STYLE = Style.EMPTY.withColor(TextColor.fromRgb(0xffe0ad));
+    private static final Set<EntryType<?>> THREAD_SAFE_TYPES = Sets.newConcurrentHashSet(List.of(BuiltinEntryTypes.EMPTY, BuiltinClientEntryTypes.RENDERING));
+    
+    /**
+     * Declares that the tooltips of the entry type can be safely built off the client thread,
+     * allowing them to be indexed in parallel.
+     */
+    public static void markThreadSafe(EntryType<?> type) {
+        THREAD_SAFE_TYPES.add(type);
+    }
     
     @Override
     public String getName() {
@@ -77,6 +92,11 @@ public final class TooltipArgumentType extends ArgumentType<Unit, String> {
         return tooltip.toLowerCase(Locale.ROOT);
     }
     
+    @Override
+    public boolean isThreadSafe(EntryStack<?> stack) {
+        return THREAD_SAFE_TYPES.contains(stack.getType());
+    }
+    
     @Override
     public void matches(String tooltip, EntryStack<?> stack, Unit filterData, ResultSink sink) {
         //noinspection StringEquality
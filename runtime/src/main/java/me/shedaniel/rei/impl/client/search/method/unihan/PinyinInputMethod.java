@@ -80,7 +80,7 @@ public class PinyinInputMethod extends UniHanInputMethod implements CharacterUnp
     
     @Override
     public List<ExpendedChar> expendSourceChar(int codePoint) {
-        List<ExpendedChar> sequences = dataMap.get(codePoint);
+        List<ExpendedChar> sequences = getExpended(codePoint);
         if (sequences != null && !sequences.isEmpty()) return sequences;
         return List.of(new ExpendedChar(List.of(IntList.of(codePoint))));
     }
@@ -23,25 +23,27 @@
 
 package me.shedaniel.rei.impl.client.search.method.unihan;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntList;
 import me.shedaniel.rei.api.client.search.method.CharacterUnpackingInputMethod.ExpendedChar;
 import me.shedaniel.rei.api.client.search.method.InputMethod;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
 public abstract class UniHanInputMethod implements InputMethod<IntList> {
     protected final UniHanManager manager;
-    protected Int2ObjectMap<List<ExpendedChar>> dataMap = new Int2ObjectOpenHashMap<>();
+    @Nullable
+    private volatile UniHanTable.Field field;
+    @Nullable
+    private volatile List<ExpendedChar>[] expended;
     
     public UniHanInputMethod(UniHanManager manager) {
         this.manager = manager;
+        this.manager.registerField(getFieldKey());
     }
     
     protected abstract String getFieldKey();
@@ -55,28 +57,48 @@ public abstract class UniHanInputMethod implements InputMethod<IntList> {
                 .thenRunAsync(this::load, executor);
     }
     
+    @SuppressWarnings("unchecked")
     public void load() {
         try {
-            manager.load((codepoint, fieldKey, data) -> {
-                if (fieldKey.equals(getFieldKey())) {
-                    String[] strings = data.split(getFieldDelimiter());
-                    List<ExpendedChar> sequences = dataMap.computeIfAbsent(codepoint, value -> new ArrayList<>(strings.length));
-                    for (String string : strings) {
-                        sequences.add(asExpendedChar(string));
-                    }
-                }
-            });
+            UniHanTable.Field field = manager.getTable().getField(getFieldKey());
+            if (field == null) return;
+            this.expended = new List[field.size()];
+            this.field = field;
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
     
+    /**
+     * Returns the sequences of the code point, converted from the table on first access,
+     * or {@code null} if the field has no data for the code point.
+     */
+    @Nullable
+    protected List<ExpendedChar> getExpended(int codePoint) {
+        UniHanTable.Field field = this.field;
+        List<ExpendedChar>[] expended = this.expended;
+        if (field == null || expended == null) return null;
+        int index = field.indexOf(codePoint);
+        if (index < 0) return null;
+        List<ExpendedChar> sequences = expended[index];
+        if (sequences == null) {
+            // Racing threads convert the same data, any of the results is fine
+            String[] strings = field.get(index).split(getFieldDelimiter());
+            sequences = List.copyOf(CollectionUtils.map(strings, this::asExpendedChar));
+            expended[index] = sequences;
+        }
+        return sequences;
+    }
+    
     protected ExpendedChar asExpendedChar(String string) {
         return new ExpendedChar(CollectionUtils.map(IntList.of(string.codePoints().toArray()), IntList::of));
     }
     
     @Override
     public CompletableFuture<Void> dispose(Executor executor) {
-        return CompletableFuture.runAsync(dataMap::clear, executor);
+        return CompletableFuture.runAsync(() -> {
+            this.field = null;
+            this.expended = null;
+        }, executor);
     }
 }
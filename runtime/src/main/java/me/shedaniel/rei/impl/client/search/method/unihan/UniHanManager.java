@@ -26,6 +26,7 @@ package me.shedaniel.rei.impl.client.search.method.unihan;
 import me.shedaniel.rei.impl.common.InternalLogger;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.LineIterator;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -37,15 +38,28 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipInputStream;
 
 public class UniHanManager {
     private final Path unihanPath;
+    private final Set<String> fieldKeys = ConcurrentHashMap.newKeySet();
+    @Nullable
+    private UniHanTable table;
     
     public UniHanManager(Path unihanPath) {
         this.unihanPath = unihanPath;
     }
     
+    /**
+     * Registers a field to be converted into the {@link UniHanTable}.
+     */
+    public void registerField(String fieldKey) {
+        fieldKeys.add(fieldKey);
+    }
+    
     public boolean downloaded() {
         return Files.exists(unihanPath);
     }
@@ -89,6 +103,30 @@ public class UniHanManager {
         return unihanPath;
     }
     
+    /**
+     * Returns the table of the registered fields, converting it from the UniHan zip if it is missing or outdated.
+     */
+    public synchronized UniHanTable getTable() throws IOException {
+        if (table != null && table.getFieldKeys().containsAll(fieldKeys)) {
+            return table;
+        }
+        // Dropped before converting, a table of other fields is never converted over while mapped
+        table = null;
+        long size = Files.size(unihanPath);
+        long modified = Files.getLastModifiedTime(unihanPath).toMillis();
+        List<String> keys = fieldKeys.stream().sorted().toList();
+        Path tablePath = unihanPath.resolveSibling(unihanPath.getFileName() + "." + String.join("-", keys) + ".table");
+        UniHanTable mapped = UniHanTable.map(tablePath, keys, size, modified);
+        if (mapped == null) {
+            InternalLogger.getInstance().debug("Converting UniHan into %s".formatted(tablePath));
+            UniHanTable.convert(this, keys, tablePath, size, modified);
+            mapped = UniHanTable.map(tablePath, keys, size, modified);
+            if (mapped == null) throw new IOException("Failed to map UniHan table: " + tablePath);
+        }
+        table = mapped;
+        return table;
+    }
+    
     public void load(DataConsumer consumer) throws IOException {
         try (ZipInputStream inputStream = new ZipInputStream(Files.newInputStream(getUnihanPath()))) {
             while (inputStream.getNextEntry() != null) {
@@ -0,0 +1,221 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.search.method.unihan;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A compact, memory-mapped table of UniHan fields, converted once from the UniHan zip.
+ * <p>
+ * Every field stores its code points sorted, alongside offsets into a packed array of the raw UTF-8 field data,
+ * looking up a code point is a binary search over the mapped buffer.
+ * The table remembers the size and modification time of the zip it was converted from,
+ * and is converted again when they change.
+ */
+public class UniHanTable {
+    private static final int MAGIC = 0x52454955;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8;
+    private final Map<String, Field> fields;
+    
+    private UniHanTable(Map<String, Field> fields) {
+        this.fields = fields;
+    }
+    
+    @Nullable
+    public Field getField(String fieldKey) {
+        return fields.get(fieldKey);
+    }
+    
+    public Set<String> getFieldKeys() {
+        return fields.keySet();
+    }
+    
+    /**
+     * Maps the table from the path, returns {@code null} if the table is missing, outdated, corrupted or lacks any of the fields.
+     * <p>
+     * The header is checked before the file is mapped, a table that is about to be converted again is never mapped.
+     */
+    @Nullable
+    public static UniHanTable map(Path tablePath, Collection<String> fieldKeys, long sourceSize, long sourceModified) {
+        Set<String> storedKeys = readFieldKeys(tablePath, sourceSize, sourceModified);
+        if (storedKeys == null || !storedKeys.containsAll(fieldKeys)) return null;
+        try (FileChannel channel = FileChannel.open(tablePath, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.position(HEADER_SIZE);
+            int fieldCount = buffer.getInt();
+            Map<String, Field> fields = new HashMap<>(fieldCount);
+            for (int i = 0; i < fieldCount; i++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                int size = buffer.getInt();
+                int dataLength = buffer.getInt();
+                int codePointsOffset = buffer.position();
+                int offsetsOffset = codePointsOffset + size * 4;
+                int dataOffset = offsetsOffset + (size + 1) * 4;
+                buffer.position(dataOffset + dataLength);
+                fields.put(new String(name, StandardCharsets.UTF_8), new Field(buffer, size, codePointsOffset, offsetsOffset, dataOffset));
+            }
+            return new UniHanTable(fields);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Reads the fields stored in the table without mapping it, returns {@code null} if the table is missing, outdated or corrupted.
+     */
+    @Nullable
+    private static Set<String> readFieldKeys(Path tablePath, long sourceSize, long sourceModified) {
+        if (!Files.exists(tablePath)) return null;
+        try (InputStream inputStream = Files.newInputStream(tablePath);
+             DataInputStream stream = new DataInputStream(new BufferedInputStream(inputStream))) {
+            if (stream.readInt() != MAGIC || stream.readInt() != VERSION) return null;
+            if (stream.readLong() != sourceSize || stream.readLong() != sourceModified) return null;
+            int fieldCount = stream.readInt();
+            Set<String> fieldKeys = new HashSet<>(fieldCount);
+            for (int i = 0; i < fieldCount; i++) {
+                byte[] name = new byte[stream.readUnsignedShort()];
+                stream.readFully(name);
+                int size = stream.readInt();
+                int dataLength = stream.readInt();
+                stream.skipNBytes(size * 4L + (size + 1) * 4L + dataLength);
+                fieldKeys.add(new String(name, StandardCharsets.UTF_8));
+            }
+            return fieldKeys;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Converts the fields from the UniHan zip into a table at the path, written to a temporary file and moved into place.
+     */
+    public static void convert(UniHanManager manager, Collection<String> fieldKeys, Path tablePath, long sourceSize, long sourceModified) throws IOException {
+        Map<String, TreeMap<Integer, byte[]>> data = new LinkedHashMap<>();
+        for (String fieldKey : fieldKeys) {
+            data.put(fieldKey, new TreeMap<>());
+        }
+        manager.load((codepoint, fieldKey, value) -> {
+            TreeMap<Integer, byte[]> map = data.get(fieldKey);
+            if (map != null) map.put(codepoint, value.getBytes(StandardCharsets.UTF_8));
+        });
+        
+        Path parent = tablePath.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path tempPath = tablePath.resolveSibling(tablePath.getFileName() + ".tmp");
+        try (OutputStream outputStream = Files.newOutputStream(tempPath);
+             DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+            stream.writeInt(MAGIC);
+            stream.writeInt(VERSION);
+            stream.writeLong(sourceSize);
+            stream.writeLong(sourceModified);
+            stream.writeInt(data.size());
+            for (Map.Entry<String, TreeMap<Integer, byte[]>> entry : data.entrySet()) {
+                byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                stream.writeShort(name.length);
+                stream.write(name);
+                TreeMap<Integer, byte[]> values = entry.getValue();
+                int dataLength = 0;
+                for (byte[] bytes : values.values()) {
+                    dataLength += bytes.length;
+                }
+                stream.writeInt(values.size());
+                stream.writeInt(dataLength);
+                for (int codePoint : values.keySet()) {
+                    stream.writeInt(codePoint);
+                }
+                int offset = 0;
+                for (byte[] bytes : values.values()) {
+                    stream.writeInt(offset);
+                    offset += bytes.length;
+                }
+                stream.writeInt(offset);
+                for (byte[] bytes : values.values()) {
+                    stream.write(bytes);
+                }
+            }
+        }
+        Files.move(tempPath, tablePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * A single field of the table, safe to query concurrently.
+     */
+    public static class Field {
+        private final ByteBuffer buffer;
+        private final int size;
+        private final int codePointsOffset;
+        private final int offsetsOffset;
+        private final int dataOffset;
+        
+        private Field(ByteBuffer buffer, int size, int codePointsOffset, int offsetsOffset, int dataOffset) {
+            this.buffer = buffer;
+            this.size = size;
+            this.codePointsOffset = codePointsOffset;
+            this.offsetsOffset = offsetsOffset;
+            this.dataOffset = dataOffset;
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        /**
+         * Returns the index of the code point in this field, or a negative value if the field has no data for it.
+         */
+        public int indexOf(int codePoint) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int value = buffer.getInt(codePointsOffset + mid * 4);
+                if (value < codePoint) low = mid + 1;
+                else if (value > codePoint) high = mid - 1;
+                else return mid;
+            }
+            return -(low + 1);
+        }
+        
+        public String get(int index) {
+            int start = buffer.getInt(offsetsOffset + index * 4);
+            int end = buffer.getInt(offsetsOffset + index * 4 + 4);
+            byte[] bytes = new byte[end - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(dataOffset + start + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.transfer;
+
+import dev.architectury.networking.NetworkManager;
+import io.netty.buffer.Unpooled;
+import me.shedaniel.rei.RoughlyEnoughItemsNetwork;
+import me.shedaniel.rei.impl.common.transfer.MoveItemsSession;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queues move items requests on the client and sends them once per tick.
+ * <p>
+ * Displays with a location are sent in full once per connection, later transfers of the same display
+ * only reference it by category and location, the server asks for the full display again if it forgot it.
+ * Servers without the compact protocol receive the legacy packet instead.
+ */
+@Environment(EnvType.CLIENT)
+public final class MoveItemsSender {
+    private static final int MAX_SENT_DISPLAYS = 64;
+    private static final List<Operation> QUEUE = new ArrayList<>();
+    private static final Map<MoveItemsSession.DisplayKey, CompoundTag> SENT = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<MoveItemsSession.DisplayKey, CompoundTag> eldest) {
+            return size() > MAX_SENT_DISPLAYS;
+        }
+    };
+    @Nullable
+    private static Object lastConnection;
+    
+    private record Operation(ResourceLocation category, boolean shift, @Nullable ResourceLocation location, CompoundTag tag, boolean reference) {}
+    
+    private MoveItemsSender() {}
+    
+    public static boolean canSend() {
+        return NetworkManager.canServerReceive(RoughlyEnoughItemsNetwork.MOVE_ITEMS_V2_PACKET)
+               || NetworkManager.canServerReceive(RoughlyEnoughItemsNetwork.MOVE_ITEMS_PACKET);
+    }
+    
+    public static void queue(ResourceLocation category, @Nullable ResourceLocation location, boolean shift, CompoundTag tag) {
+        checkConnection();
+        boolean reference = false;
+        if (location != null) {
+            MoveItemsSession.DisplayKey key = new MoveItemsSession.DisplayKey(category, location);
+            reference = tag.equals(SENT.get(key));
+            SENT.put(key, tag);
+        }
+        QUEUE.add(new Operation(category, shift, location, tag, reference));
+    }
+    
+    /**
+     * Queues a display again in full, after the server reported that it does not know the display.
+     */
+    public static void resend(ResourceLocation category, boolean shift, ResourceLocation location) {
+        CompoundTag tag = SENT.remove(new MoveItemsSession.DisplayKey(category, location));
+        if (tag != null) {
+            queue(category, location, shift, tag);
+        }
+    }
+    
+    public static void flush() {
+        if (QUEUE.isEmpty()) return;
+        checkConnection();
+        List<Operation> operations = new ArrayList<>(QUEUE);
+        QUEUE.clear();
+        if (!NetworkManager.canServerReceive(RoughlyEnoughItemsNetwork.MOVE_ITEMS_V2_PACKET)) {
+            for (Operation operation : operations) {
+                FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+                buf.writeResourceLocation(operation.category());
+                buf.writeBoolean(operation.shift());
+                buf.writeNbt(operation.tag());
+                NetworkManager.sendToServer(RoughlyEnoughItemsNetwork.MOVE_ITEMS_PACKET, buf);
+            }
+            return;
+        }
+        for (int start = 0; start < operations.size(); start += MoveItemsSession.MAX_BATCH_SIZE) {
+            List<Operation> batch = operations.subList(start, Math.min(operations.size(), start + MoveItemsSession.MAX_BATCH_SIZE));
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            buf.writeVarInt(batch.size());
+            for (Operation operation : batch) {
+                buf.writeResourceLocation(operation.category());
+                buf.writeBoolean(operation.shift());
+                buf.writeBoolean(operation.location() != null);
+                if (operation.location() != null) {
+                    buf.writeResourceLocation(operation.location());
+                }
+                buf.writeBoolean(!operation.reference());
+                if (!operation.reference()) {
+                    buf.writeNbt(operation.tag());
+                }
+            }
+            NetworkManager.sendToServer(RoughlyEnoughItemsNetwork.MOVE_ITEMS_V2_PACKET, buf);
+        }
+    }
+    
+    private static void checkConnection() {
+        Object connection = Minecraft.getInstance().getConnection();
+        if (connection != lastConnection) {
+            lastConnection = connection;
+            SENT.clear();
+        }
+    }
+}
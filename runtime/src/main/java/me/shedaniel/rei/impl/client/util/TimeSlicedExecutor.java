@@ -0,0 +1,100 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.util;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.Util;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Runs work that must happen on the client thread in small slices every client tick,
+ * so large batches never stall a single frame.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class TimeSlicedExecutor {
+    private static final long SLICE_NANOS = 5_000_000;
+    private static final Queue<Batch<?>> BATCHES = new ConcurrentLinkedQueue<>();
+    
+    private TimeSlicedExecutor() {}
+    
+    /**
+     * Submits the items to be processed on the client thread, the returned future completes once all items are processed.
+     * Cancelling the future skips the remaining items.
+     */
+    public static <T> CompletableFuture<Void> submit(List<T> items, Consumer<T> action) {
+        Batch<T> batch = new Batch<>(items, action, new CompletableFuture<>());
+        if (items.isEmpty()) {
+            batch.future().complete(null);
+        } else {
+            BATCHES.add(batch);
+        }
+        return batch.future();
+    }
+    
+    /**
+     * Processes the submitted items until the time slice of this tick is used up, called on the client thread.
+     */
+    public static void tick() {
+        if (BATCHES.isEmpty()) return;
+        long deadline = Util.getNanos() + SLICE_NANOS;
+        Batch<?> batch;
+        while ((batch = BATCHES.peek()) != null) {
+            if (!batch.run(deadline)) return;
+            BATCHES.remove(batch);
+        }
+    }
+    
+    private record Batch<T>(List<T> items, Consumer<T> action, CompletableFuture<Void> future, int[] index) {
+        private Batch(List<T> items, Consumer<T> action, CompletableFuture<Void> future) {
+            this(items, action, future, new int[1]);
+        }
+        
+        /**
+         * Returns whether this batch is finished.
+         */
+        private boolean run(long deadline) {
+            if (future.isDone()) return true;
+            try {
+                while (index[0] < items.size()) {
+                    action.accept(items.get(index[0]++));
+                    if (Util.getNanos() >= deadline) break;
+                }
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+                return true;
+            }
+            if (index[0] < items.size()) return false;
+            future.complete(null);
+            return true;
+        }
+    }
+}
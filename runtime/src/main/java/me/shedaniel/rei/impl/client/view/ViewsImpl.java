@@ -24,12 +24,15 @@
 package me.shedaniel.rei.impl.client.view;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import it.unimi.dsi.fastutil.longs.Long2LongMap;
 import it.unimi.dsi.fastutil.longs.Long2LongMaps;
 import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import me.shedaniel.rei.api.client.REIRuntime;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.registry.category.CategoryRegistry;
 import me.shedaniel.rei.api.client.registry.display.DisplayCategory;
@@ -51,11 +54,12 @@ import me.shedaniel.rei.api.common.transfer.info.MenuInfoRegistry;
 import me.shedaniel.rei.api.common.transfer.info.MenuSerializationContext;
 import me.shedaniel.rei.api.common.transfer.info.stack.SlotAccessor;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
-import me.shedaniel.rei.api.common.util.EntryIngredients;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.client.gui.craftable.CraftableFilter;
 import me.shedaniel.rei.impl.client.gui.widget.AutoCraftingEvaluator;
+import me.shedaniel.rei.impl.client.registry.category.CategoryRegistryImpl;
 import me.shedaniel.rei.impl.client.util.CrashReportUtils;
+import me.shedaniel.rei.impl.client.util.TimeSlicedExecutor;
 import me.shedaniel.rei.impl.common.InternalLogger;
 import me.shedaniel.rei.impl.display.DisplaySpec;
 import net.minecraft.CrashReport;
@@ -76,6 +80,14 @@ import java.util.stream.Collectors;
 @ApiStatus.Internal
 public class ViewsImpl implements Views {
     private static final ThreadLocal<ViewSearchBuilder> BUILDER = new ThreadLocal<>();
+    /**
+     * Displays evaluated synchronously per category when sorting by auto crafting, roughly the first page.
+     * The remaining displays are evaluated on the client tick, and their ranks are used by the following lookups.
+     */
+    private static final int SYNC_AUTO_CRAFTING_EVALUATIONS = 16;
+    private static final Cache<Display, RankedDisplay> AUTO_CRAFTING_RANKS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
     
     @Nullable
     @Override
@@ -113,6 +125,8 @@ public class ViewsImpl implements Views {
         List<EntryStack<?>> recipesForStacksWildcard = CollectionUtils.flatMap(recipesForStacks, wildcardFunction);
         List<EntryStack<?>> usagesForStacksWildcard = CollectionUtils.flatMap(usagesForStacks, wildcardFunction);
         DisplayRegistry displayRegistry = DisplayRegistry.getInstance();
+        Set<CategoryIdentifier<?>> workstationCategories = ((CategoryRegistryImpl) CategoryRegistry.getInstance())
+                .getWorkstationCategories(Iterables.concat(usagesForStacks, usagesForStacksWildcard));
         
         Map<DisplayCategory<?>, List<Display>> result = Maps.newLinkedHashMap();
         for (CategoryRegistry.CategoryConfiguration<?> categoryConfiguration : CategoryRegistry.getInstance()) {
@@ -166,14 +180,11 @@ public class ViewsImpl implements Views {
                     }
                 }
             }
-            for (EntryStack<?> usagesFor : Iterables.concat(usagesForStacks, usagesForStacksWildcard)) {
-                if (isStackWorkStationOfCategory(categoryConfiguration, usagesFor)) {
-                    if (processingVisibilityHandlers) {
-                        set.addAll(CollectionUtils.filterToSet(allRecipesFromCategory, displayRegistry::isDisplayVisible));
-                    } else {
-                        set.addAll(allRecipesFromCategory);
-                    }
-                    break;
+            if (workstationCategories.contains(categoryId)) {
+                if (processingVisibilityHandlers) {
+                    set.addAll(CollectionUtils.filterToSet(allRecipesFromCategory, displayRegistry::isDisplayVisible));
+                } else {
+                    set.addAll(allRecipesFromCategory);
                 }
             }
             if (!set.isEmpty()) {
@@ -315,21 +326,71 @@ public class ViewsImpl implements Views {
     private static Iterable<Display> sortAutoCrafting(List<Display> displays) {
         Set<Display> successfulDisplays = new LinkedHashSet<>();
         Set<Display> applicableDisplays = new LinkedHashSet<>();
+        List<Display> pendingDisplays = new ArrayList<>();
+        long generation = getAutoCraftingGeneration();
+        int evaluated = 0;
         
         for (Display display : displays) {
-            AutoCraftingEvaluator.AutoCraftingResult result = AutoCraftingEvaluator.evaluateAutoCrafting(false, false, display, null);
+            AutoCraftingRank rank = getAutoCraftingRank(display, generation);
+            
+            if (rank == null) {
+                if (evaluated >= SYNC_AUTO_CRAFTING_EVALUATIONS) {
+                    pendingDisplays.add(display);
+                    continue;
+                }
+                
+                evaluated++;
+                rank = evaluateAutoCraftingRank(display, generation);
+            }
             
-            if (result.successful) {
+            if (rank == AutoCraftingRank.SUCCESSFUL) {
                 successfulDisplays.add(display);
-            } else if (result.hasApplicable) {
+            } else if (rank == AutoCraftingRank.APPLICABLE) {
                 applicableDisplays.add(display);
             }
         }
         
+        if (!pendingDisplays.isEmpty()) {
+            TimeSlicedExecutor.submit(pendingDisplays, display -> {
+                if (getAutoCraftingGeneration() == generation && getAutoCraftingRank(display, generation) == null) {
+                    evaluateAutoCraftingRank(display, generation);
+                }
+            });
+        }
+        
         return Iterables.concat(successfulDisplays, applicableDisplays,
                 Iterables.filter(displays, display -> !successfulDisplays.contains(display) && !applicableDisplays.contains(display)));
     }
     
+    /**
+     * Returns the generation the auto crafting ranks are valid for, which changes with the inventory contents and the container screen.
+     */
+    private static long getAutoCraftingGeneration() {
+        int screen = System.identityHashCode(REIRuntime.getInstance().getPreviousContainerScreen());
+        return ((long) CraftableFilter.INSTANCE.getGeneration() << 32) | (screen & 0xFFFFFFFFL);
+    }
+    
+    @Nullable
+    private static AutoCraftingRank getAutoCraftingRank(Display display, long generation) {
+        RankedDisplay ranked = AUTO_CRAFTING_RANKS.getIfPresent(display);
+        return ranked != null && ranked.generation() == generation ? ranked.rank() : null;
+    }
+    
+    private static AutoCraftingRank evaluateAutoCraftingRank(Display display, long generation) {
+        AutoCraftingEvaluator.AutoCraftingResult result = AutoCraftingEvaluator.evaluateAutoCrafting(false, false, display, null);
+        AutoCraftingRank rank = result.successful ? AutoCraftingRank.SUCCESSFUL : result.hasApplicable ? AutoCraftingRank.APPLICABLE : AutoCraftingRank.NOT_APPLICABLE;
+        AUTO_CRAFTING_RANKS.put(display, new RankedDisplay(generation, rank));
+        return rank;
+    }
+    
+    private enum AutoCraftingRank {
+        SUCCESSFUL,
+        APPLICABLE,
+        NOT_APPLICABLE
+    }
+    
+    private record RankedDisplay(long generation, AutoCraftingRank rank) {}
+    
     private static <T extends Display> void generateLiveDisplays(DisplayRegistry displayRegistry, DynamicDisplayGenerator<T> generator, ViewSearchBuilder builder, Consumer<T> displayConsumer) {
         boolean processingVisibilityHandlers = builder.isProcessingVisibilityHandlers();
         
@@ -500,17 +561,8 @@ public class ViewsImpl implements Views {
         return craftables;
     }
     
-    private static <T> boolean isStackWorkStationOfCategory(CategoryRegistry.CategoryConfiguration<?> category, EntryStack<T> stack) {
-        for (EntryIngredient ingredient : category.getWorkstations()) {
-            if (EntryIngredients.testFuzzy(ingredient, stack)) {
-                return true;
-            }
-        }
-        return false;
-    }
-    
     @Override
     public void startReload() {
-        
+        AUTO_CRAFTING_RANKS.invalidateAll();
     }
 }
@@ -36,6 +36,7 @@ import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.entry.settings.EntrySettingsAdapterRegistry;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.api.common.util.FormattingUtils;
+import me.shedaniel.rei.impl.client.entry.EntryTooltipCache;
 import me.shedaniel.rei.impl.client.util.CrashReportUtils;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -45,12 +46,11 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.item.ItemStack;
-import org.apache.commons.lang3.mutable.Mutable;
-import org.apache.commons.lang3.mutable.MutableObject;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Stream;
 
 @ApiStatus.Internal
@@ -208,20 +208,23 @@ public abstract class AbstractEntryStack<A> implements EntryStack<A>, Renderer {
     @Nullable
     public Tooltip getTooltip(TooltipContext context, boolean appendModName) {
         try {
-            Mutable<Tooltip> tooltip = new MutableObject<>(getRenderer().<A>cast().getTooltip(this, context));
-            if (tooltip.getValue() == null) return null;
-            tooltip.getValue().withContextStack(this);
-            tooltip.getValue().addAllTexts(get(Settings.TOOLTIP_APPEND_EXTRA).apply(this));
-            tooltip.setValue(get(Settings.TOOLTIP_PROCESSOR).apply(this, tooltip.getValue()));
-            if (tooltip.getValue() == null) return null;
+            Tooltip tooltip;
+            if (hasTooltipSettings()) {
+                tooltip = computeTooltip(context);
+                if (tooltip == null) return null;
+            } else {
+                List<Tooltip.Entry> entries = EntryTooltipCache.get(this, context, () -> computeTooltip(context));
+                if (entries == null) return null;
+                tooltip = Tooltip.from(context.getPoint(), entries).withContextStack(this);
+            }
             String containingNs = getContainingNamespace();
             if (appendModName) {
                 if (containingNs != null) {
-                    ClientHelper.getInstance().appendModIdToTooltips(tooltip.getValue(), containingNs);
+                    ClientHelper.getInstance().appendModIdToTooltips(tooltip, containingNs);
                 }
             } else if (containingNs != null) {
                 final String modName = ClientHelper.getInstance().getModFromModId(containingNs);
-                Iterator<Tooltip.Entry> iterator = tooltip.getValue().entries().iterator();
+                Iterator<Tooltip.Entry> iterator = tooltip.entries().iterator();
                 while (iterator.hasNext()) {
                     Tooltip.Entry s = iterator.next();
                     if (s.isText() && FormattingUtils.stripFormatting(s.getAsText().getString()).equalsIgnoreCase(modName)) {
@@ -229,7 +232,7 @@ public abstract class AbstractEntryStack<A> implements EntryStack<A>, Renderer {
                     }
                 }
             }
-            return tooltip.getValue();
+            return tooltip;
         } catch (Throwable throwable) {
             CrashReport report = CrashReportUtils.essential(throwable, "Getting tooltips");
             CrashReportUtils.renderer(report, this);
@@ -237,6 +240,24 @@ public abstract class AbstractEntryStack<A> implements EntryStack<A>, Renderer {
         }
     }
     
+    /**
+     * Returns whether this stack overrides its renderer or tooltip through its settings,
+     * the cached tooltips are shared between equal stacks, so these stacks are not cached.
+     */
+    private boolean hasTooltipSettings() {
+        return getNullable(Settings.RENDERER) != null || getNullable(Settings.TOOLTIP_PROCESSOR) != null
+               || getNullable(Settings.TOOLTIP_APPEND_EXTRA) != null;
+    }
+    
+    @Nullable
+    private Tooltip computeTooltip(TooltipContext context) {
+        Tooltip tooltip = getRenderer().<A>cast().getTooltip(this, context);
+        if (tooltip == null) return null;
+        tooltip.withContextStack(this);
+        tooltip.addAllTexts(get(Settings.TOOLTIP_APPEND_EXTRA).apply(this));
+        return get(Settings.TOOLTIP_PROCESSOR).apply(this, tooltip);
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
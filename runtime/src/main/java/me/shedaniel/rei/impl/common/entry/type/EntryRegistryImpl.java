@@ -24,6 +24,8 @@
 package me.shedaniel.rei.impl.common.entry.type;
 
 import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
@@ -35,6 +37,7 @@ import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.entry.comparison.ComparisonContext;
 import me.shedaniel.rei.api.common.entry.type.EntryDefinition;
+import me.shedaniel.rei.api.common.entry.type.EntryType;
 import me.shedaniel.rei.api.common.entry.type.VanillaEntryTypes;
 import me.shedaniel.rei.api.common.registry.ReloadStage;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
@@ -59,6 +62,9 @@ import java.util.stream.Stream;
 public class EntryRegistryImpl implements EntryRegistry {
     public List<EntryRegistryListener> listeners = Lists.newCopyOnWriteArrayList();
     private PreFilteredEntryList preFilteredList;
+    private EntryTypeIndex typeIndex;
+    private final Long2ObjectMap<EntryStack<?>> queuedAdditions = new Long2ObjectLinkedOpenHashMap<>();
+    private final LongSet queuedRemovals = new LongOpenHashSet();
     private EntryRegistryList registryList;
     private LongSet entriesHash;
     private boolean reloading;
@@ -67,7 +73,9 @@ public class EntryRegistryImpl implements EntryRegistry {
         registryList = new NormalEntryRegistryList();
         entriesHash = new LongOpenHashSet();
         preFilteredList = new PreFilteredEntryList(this);
+        typeIndex = new EntryTypeIndex(this);
         listeners.add(preFilteredList);
+        listeners.add(typeIndex);
     }
     
     @Override
@@ -86,7 +94,13 @@ public class EntryRegistryImpl implements EntryRegistry {
         registryList = new ReloadingEntryRegistryList();
         entriesHash = new LongOpenHashSet();
         preFilteredList = new PreFilteredEntryList(this);
+        typeIndex = new EntryTypeIndex(this);
         listeners.add(preFilteredList);
+        listeners.add(typeIndex);
+        synchronized (queuedAdditions) {
+            queuedAdditions.clear();
+            queuedRemovals.clear();
+        }
         reloading = true;
     }
     
@@ -117,6 +131,11 @@ public class EntryRegistryImpl implements EntryRegistry {
         return registryList.stream();
     }
     
+    @Override
+    public <T> List<EntryStack<T>> getEntryStacks(EntryType<T> type) {
+        return typeIndex.get(type);
+    }
+    
     @Override
     public List<EntryStack<?>> getPreFilteredList() {
         return Collections.unmodifiableList(preFilteredList.getList());
@@ -212,6 +231,65 @@ public class EntryRegistryImpl implements EntryRegistry {
         }
     }
     
+    @Override
+    public void queueAddEntries(Collection<? extends EntryStack<?>> stacks) {
+        if (reloading) {
+            addEntries(stacks);
+            return;
+        }
+        
+        synchronized (queuedAdditions) {
+            for (EntryStack<?> stack : stacks) {
+                long hashExact = EntryStacks.hashExact(stack);
+                queuedRemovals.remove(hashExact);
+                queuedAdditions.put(hashExact, stack);
+            }
+        }
+    }
+    
+    @Override
+    public void queueRemoveEntries(Collection<? extends EntryStack<?>> stacks) {
+        if (reloading) {
+            LongSet hashes = new LongOpenHashSet(stacks.size());
+            for (EntryStack<?> stack : stacks) {
+                hashes.add(EntryStacks.hashExact(stack));
+            }
+            removeEntryExactHashIf(hashes::contains);
+            return;
+        }
+        
+        synchronized (queuedAdditions) {
+            for (EntryStack<?> stack : stacks) {
+                long hashExact = EntryStacks.hashExact(stack);
+                queuedAdditions.remove(hashExact);
+                queuedRemovals.add(hashExact);
+            }
+        }
+    }
+    
+    /**
+     * Applies the queued additions and removals as one delta, called at the end of every client tick.
+     */
+    public void flushQueuedEntries() {
+        List<EntryStack<?>> additions;
+        LongSet removals;
+        synchronized (queuedAdditions) {
+            if (queuedAdditions.isEmpty() && queuedRemovals.isEmpty()) return;
+            additions = new ArrayList<>(queuedAdditions.values());
+            removals = new LongOpenHashSet(queuedRemovals);
+            queuedAdditions.clear();
+            queuedRemovals.clear();
+        }
+        
+        if (!removals.isEmpty()) {
+            removeEntryExactHashIf(removals::contains);
+        }
+        
+        if (!additions.isEmpty()) {
+            addEntries(additions);
+        }
+    }
+    
     @Override
     public boolean removeEntry(EntryStack<?> stack) {
         long hashExact = EntryStacks.hashExact(stack);
@@ -0,0 +1,111 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package me.shedaniel.rei.impl.common.entry.type;
+
+import it.unimi.dsi.fastutil.longs.LongList;
+import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.entry.type.EntryType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Per {@link EntryType} snapshots of the entry registry, kept in sync through {@link EntryRegistryListener}.
+ * <p>
+ * The returned lists are immutable snapshots, appended entries are added to the backing lists directly
+ * and only drop the snapshots of the affected types, positional insertions and removals invalidate
+ * the whole index, which is then rebuilt lazily on the next query.
+ */
+public class EntryTypeIndex implements EntryRegistryListener {
+    private final EntryRegistry registry;
+    private Map<EntryType<?>, List<EntryStack<?>>> lists;
+    private final Map<EntryType<?>, List<?>> snapshots = new HashMap<>();
+    
+    public EntryTypeIndex(EntryRegistry registry) {
+        this.registry = registry;
+    }
+    
+    public synchronized <T> List<EntryStack<T>> get(EntryType<T> type) {
+        if (lists == null) {
+            this.lists = new HashMap<>();
+            append(registry.getEntryStacks().toList());
+        }
+        
+        return (List<EntryStack<T>>) snapshots.computeIfAbsent(type, $ -> {
+            List<EntryStack<?>> list = lists.get(type);
+            return list == null ? List.of() : List.copyOf(list);
+        });
+    }
+    
+    private synchronized void append(Collection<EntryStack<?>> stacks) {
+        if (lists != null) {
+            for (EntryStack<?> stack : stacks) {
+                if (!stack.isEmpty()) {
+                    lists.computeIfAbsent(stack.getType(), $ -> new ArrayList<>()).add(stack);
+                    snapshots.remove(stack.getType());
+                }
+            }
+        }
+    }
+    
+    private synchronized void invalidate() {
+        lists = null;
+        snapshots.clear();
+    }
+    
+    @Override
+    public void addEntryAfter(@Nullable EntryStack<?> afterEntry, EntryStack<?> stack, long stackHashExact) {
+        if (afterEntry == null) append(Collections.singletonList(stack));
+        else invalidate();
+    }
+    
+    @Override
+    public void addEntriesAfter(@Nullable EntryStack<?> afterEntry, List<EntryStack<?>> stacks, @Nullable LongList hashes) {
+        if (afterEntry == null) append(stacks);
+        else invalidate();
+    }
+    
+    @Override
+    public void removeEntry(EntryStack<?> stack, long hashExact) {
+        invalidate();
+    }
+    
+    @Override
+    public void removeEntries(List<EntryStack<?>> stacks, @Nullable LongList hashes) {
+        invalidate();
+    }
+    
+    @Override
+    public void removeEntriesIf(Predicate<EntryStack<?>> predicate) {
+        invalidate();
+    }
+    
+    @Override
+    public void onReFilter(List<EntryStack<?>> stacks) {
+        invalidate();
+    }
+}
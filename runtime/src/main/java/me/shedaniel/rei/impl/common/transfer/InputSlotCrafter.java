@@ -25,6 +25,7 @@ package me.shedaniel.rei.impl.common.transfer;
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.transfer.RecipeFinder;
@@ -38,12 +39,15 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.Container;
 import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Container, D extends Display> implements MenuInfoContext<T, ServerPlayer, D> {
@@ -52,6 +56,8 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
     protected MenuInfo<T, D> menuInfo;
     private Iterable<SlotAccessor> inputStacks;
     private Iterable<SlotAccessor> inventoryStacks;
+    @Nullable
+    private Map<Item, List<SlotAccessor>> inventoryIndex;
     private ServerPlayer player;
     
     private InputSlotCrafter(CategoryIdentifier<D> category, T container) {
@@ -86,8 +92,10 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
             ingredients.add(CollectionUtils.toIngredient(itemStacks));
         }
         
-        if (recipeFinder.findRecipe(ingredients, null)) {
-            this.fillInputSlots(recipeFinder, ingredients, hasShift);
+        // One matching graph serves every lookup below, the finder's contents are restored after each lookup
+        RecipeFinder.Filter filter = recipeFinder.createFilter(RecipeFinder.PreparedIngredients.of(ingredients));
+        if (filter.find(1, null)) {
+            this.fillInputSlots(filter, hasShift);
         } else {
             this.cleanInputs();
             this.menuInfo.markDirty(this);
@@ -110,45 +118,64 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
     public void acceptAlignedInput(Integer recipeItemId, SlotAccessor inputStack, int craftsAmount) {
         ItemStack toBeTakenStack = RecipeFinder.getStackFromId(recipeItemId);
         if (!toBeTakenStack.isEmpty()) {
-            for (int i = 0; i < craftsAmount; ++i) {
-                this.fillInputSlot(inputStack, toBeTakenStack);
+            int remaining = craftsAmount;
+            while (remaining > 0) {
+                int filled = this.fillInputSlot(inputStack, toBeTakenStack, remaining);
+                if (filled <= 0) break;
+                remaining -= filled;
             }
         }
     }
     
     protected void fillInputSlot(SlotAccessor slot, ItemStack toBeTakenStack) {
+        this.fillInputSlot(slot, toBeTakenStack, 1);
+    }
+    
+    /**
+     * Moves up to {@code amount} items matching the stack from a single inventory slot into the slot.
+     *
+     * @return the amount of items moved
+     */
+    protected int fillInputSlot(SlotAccessor slot, ItemStack toBeTakenStack, int amount) {
         SlotAccessor takenSlot = this.takeInventoryStack(toBeTakenStack);
         if (takenSlot != null) {
             ItemStack takenStack = takenSlot.getItemStack().copy();
             if (!takenStack.isEmpty()) {
-                if (takenStack.getCount() > 1) {
-                    takenSlot.takeStack(1);
+                int count = Math.min(amount, takenStack.getCount());
+                if (takenStack.getCount() > count) {
+                    takenSlot.takeStack(count);
                 } else {
                     takenSlot.setItemStack(ItemStack.EMPTY);
                 }
                 
-                takenStack.setCount(1);
+                takenStack.setCount(count);
                 if (slot.getItemStack().isEmpty()) {
                     slot.setItemStack(takenStack);
                 } else {
-                    slot.getItemStack().grow(1);
+                    slot.getItemStack().grow(count);
                 }
+                return count;
             }
         }
+        return 0;
     }
     
     protected void fillInputSlots(RecipeFinder recipeFinder, NonNullList<Ingredient> ingredients, boolean hasShift) {
-        int recipeCrafts = recipeFinder.countRecipeCrafts(ingredients, null);
+        this.fillInputSlots(recipeFinder.createFilter(RecipeFinder.PreparedIngredients.of(ingredients)), hasShift);
+    }
+    
+    protected void fillInputSlots(RecipeFinder.Filter filter, boolean hasShift) {
+        int recipeCrafts = filter.countCrafts(Integer.MAX_VALUE, null);
         int amountToFill = hasShift ? recipeCrafts : 1;
         IntList recipeItemIds = new IntArrayList();
-        if (recipeFinder.findRecipe(ingredients, recipeItemIds, amountToFill)) {
+        if (filter.find(amountToFill, recipeItemIds)) {
             int finalCraftsAmount = amountToFill;
             
             for (int itemId : recipeItemIds) {
                 finalCraftsAmount = Math.min(finalCraftsAmount, RecipeFinder.getStackFromId(itemId).getMaxStackSize());
             }
             
-            if (recipeFinder.findRecipe(ingredients, recipeItemIds, finalCraftsAmount)) {
+            if (filter.find(finalCraftsAmount, recipeItemIds)) {
                 this.cleanInputs();
                 this.alignRecipeToGrid(inputStacks, recipeItemIds.iterator(), finalCraftsAmount);
             }
@@ -157,13 +184,22 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
     
     protected void cleanInputs() {
         this.menuInfo.getInputCleanHandler().clean(this);
+        // Cleaning moves items back into the inventory
+        this.inventoryIndex = null;
     }
     
     @Nullable
     public SlotAccessor takeInventoryStack(ItemStack itemStack) {
-        for (SlotAccessor inventoryStack : inventoryStacks) {
+        List<SlotAccessor> candidates = getInventoryIndex().get(itemStack.getItem());
+        if (candidates == null) return null;
+        Iterator<SlotAccessor> iterator = candidates.iterator();
+        while (iterator.hasNext()) {
+            SlotAccessor inventoryStack = iterator.next();
             ItemStack itemStack1 = inventoryStack.getItemStack();
-            if (!itemStack1.isEmpty() && areItemsEqual(itemStack, itemStack1) && !itemStack1.isDamaged() && !itemStack1.isEnchanted() && !itemStack1.hasCustomHoverName()) {
+            if (!isTakeable(itemStack1) || itemStack1.getItem() != itemStack.getItem()) {
+                // Drained or replaced since the index was built
+                iterator.remove();
+            } else if (ItemStack.tagMatches(itemStack, itemStack1)) {
                 return inventoryStack;
             }
         }
@@ -171,8 +207,26 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
         return null;
     }
     
-    private static boolean areItemsEqual(ItemStack stack1, ItemStack stack2) {
-        return stack1.getItem() == stack2.getItem() && ItemStack.tagMatches(stack1, stack2);
+    /**
+     * Returns the inventory slots grouped by their item, in inventory order.
+     * The index lives for a single request and drops slots lazily as they are drained.
+     */
+    private Map<Item, List<SlotAccessor>> getInventoryIndex() {
+        if (this.inventoryIndex == null) {
+            Map<Item, List<SlotAccessor>> index = new Reference2ObjectOpenHashMap<>();
+            for (SlotAccessor inventoryStack : inventoryStacks) {
+                ItemStack itemStack = inventoryStack.getItemStack();
+                if (isTakeable(itemStack)) {
+                    index.computeIfAbsent(itemStack.getItem(), item -> new LinkedList<>()).add(inventoryStack);
+                }
+            }
+            this.inventoryIndex = index;
+        }
+        return this.inventoryIndex;
+    }
+    
+    private static boolean isTakeable(ItemStack stack) {
+        return !stack.isEmpty() && !stack.isDamaged() && !stack.isEnchanted() && !stack.hasCustomHoverName();
     }
     
     @Override
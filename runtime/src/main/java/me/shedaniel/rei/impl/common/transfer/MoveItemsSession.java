@@ -0,0 +1,88 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.common.transfer;
+
+import net.minecraft.Util;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Server side state of the compact move items protocol for a single player.
+ * <p>
+ * Remembers the last displays sent in full by the player, so later transfers can reference them by
+ * category and display location, and rate limits the transfers with a token bucket.
+ */
+public class MoveItemsSession {
+    public static final int MAX_BATCH_SIZE = 16;
+    private static final int MAX_CACHED_DISPLAYS = 64;
+    private static final int MAX_TOKENS = 20;
+    private static final long TOKEN_INTERVAL_MILLIS = 100;
+    private static final Map<ServerPlayer, MoveItemsSession> SESSIONS = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    private final Map<DisplayKey, CompoundTag> displays = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DisplayKey, CompoundTag> eldest) {
+            return size() > MAX_CACHED_DISPLAYS;
+        }
+    };
+    private int tokens = MAX_TOKENS;
+    private long lastRefill = Util.getMillis();
+    
+    public record DisplayKey(ResourceLocation category, ResourceLocation location) {}
+    
+    public static MoveItemsSession get(ServerPlayer player) {
+        return SESSIONS.computeIfAbsent(player, $ -> new MoveItemsSession());
+    }
+    
+    public synchronized void remember(DisplayKey key, CompoundTag tag) {
+        displays.put(key, tag);
+    }
+    
+    @Nullable
+    public synchronized CompoundTag lookup(DisplayKey key) {
+        return displays.get(key);
+    }
+    
+    /**
+     * Takes a token for a transfer, returns {@code false} if the player is transferring too fast.
+     */
+    public synchronized boolean tryAcquire() {
+        long now = Util.getMillis();
+        int refill = (int) ((now - lastRefill) / TOKEN_INTERVAL_MILLIS);
+        if (refill > 0) {
+            tokens = Math.min(MAX_TOKENS, tokens + refill);
+            lastRefill = tokens == MAX_TOKENS ? now : lastRefill + refill * TOKEN_INTERVAL_MILLIS;
+        }
+        if (tokens <= 0) return false;
+        tokens--;
+        return true;
+    }
+}
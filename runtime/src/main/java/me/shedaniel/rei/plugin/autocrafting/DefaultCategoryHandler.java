@@ -23,13 +23,10 @@
 
 package me.shedaniel.rei.plugin.autocrafting;
 
-import dev.architectury.networking.NetworkManager;
-import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntSet;
-import me.shedaniel.rei.RoughlyEnoughItemsNetwork;
 import me.shedaniel.rei.api.client.ClientHelper;
 import me.shedaniel.rei.api.client.registry.transfer.TransferHandler;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
@@ -42,12 +39,12 @@ import me.shedaniel.rei.api.common.transfer.info.MenuInfoRegistry;
 import me.shedaniel.rei.api.common.transfer.info.MenuTransferException;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryIngredients;
+import me.shedaniel.rei.impl.client.transfer.MoveItemsSender;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.client.gui.screens.recipebook.RecipeUpdateListener;
-import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
@@ -107,12 +104,8 @@ public class DefaultCategoryHandler implements TransferHandler {
         if (containerScreen instanceof RecipeUpdateListener listener) {
             listener.getRecipeBookComponent().ghostRecipe.clear();
         }
-        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
-        buf.writeResourceLocation(display.getCategoryIdentifier().getIdentifier());
-        buf.writeBoolean(context.isStackedCrafting());
-        
-        buf.writeNbt(menuInfo.save(menuInfoContext, display));
-        NetworkManager.sendToServer(RoughlyEnoughItemsNetwork.MOVE_ITEMS_PACKET, buf);
+        MoveItemsSender.queue(display.getCategoryIdentifier().getIdentifier(), display.getDisplayLocation().orElse(null),
+                context.isStackedCrafting(), menuInfo.save(menuInfoContext, display));
         return Result.createSuccessful();
     }
     
@@ -26,17 +26,28 @@ import me.shedaniel.rei.impl.Internals;
 import me.shedaniel.rei.impl.client.search.argument.InputMethodMatcher;
 import me.shedaniel.rei.impl.client.search.method.unihan.PinyinInputMethod;
 import me.shedaniel.rei.impl.client.search.method.unihan.UniHanManager;
+import me.shedaniel.rei.impl.client.search.method.unihan.UniHanTable;
 import me.shedaniel.rei.impl.common.InternalLogger;
 import org.apache.logging.log4j.Level;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class InputMethodTest {
@@ -61,19 +72,43 @@ public class InputMethodTest {
     @TempDir
     static Path tempDir;
     
+    static UniHanManager manager;
     static PinyinInputMethod pinyinInputMethod;
     
     @BeforeAll
-    static void setup() {
+    static void setup() throws IOException {
         Internals.attachInstanceSupplier(LOGGER, "logger");
         
-        UniHanManager manager = new UniHanManager(tempDir.resolve("unihan.zip"));
+        Path unihanPath = tempDir.resolve("unihan.zip");
+        try (OutputStream outputStream = Files.newOutputStream(unihanPath);
+             ZipOutputStream zipStream = new ZipOutputStream(outputStream);
+             InputStream readings = InputMethodTest.class.getResourceAsStream("/unihan/Unihan_Readings.txt")) {
+            assertNotNull(readings);
+            zipStream.putNextEntry(new ZipEntry("Unihan_Readings.txt"));
+            readings.transferTo(zipStream);
+            zipStream.closeEntry();
+        }
+        manager = new UniHanManager(unihanPath);
         pinyinInputMethod = new PinyinInputMethod(manager);
         ExecutorService service = Executors.newSingleThreadExecutor();
         pinyinInputMethod.prepare(service).join();
         service.shutdown();
     }
     
+    @Test
+    void testTable() throws IOException {
+        Map<Integer, String> expected = new HashMap<>();
+        manager.load((codepoint, fieldKey, data) -> {
+            if (fieldKey.equals("kMandarin")) expected.put(codepoint, data);
+        });
+        UniHanTable.Field field = manager.getTable().getField("kMandarin");
+        assertNotNull(field);
+        assertEquals(expected.size(), field.size());
+        expected.forEach((codepoint, data) -> assertEquals(data, field.get(field.indexOf(codepoint))));
+        assertTrue(field.indexOf('a') < 0);
+    }
+    
+    @Test
     void testPinyin() {
         assertTrue(pinyinContains("漢", "han"));
         assertTrue(pinyinContains("漢語", "hanyu"));
@@ -93,7 +128,27 @@ public class InputMethodTest {
         assertTrue(pinyinContains("hong2", "hong2"));
     }
     
+    @Test
+    void testCompiledPinyin() {
+        String[][] cases = {
+                {"漢", "han"}, {"漢語", "hanyu"}, {"漢", "ha"}, {"漢語", "hayu"}, {"测试文本", "ceshiwenben"},
+                {"测试文本", "ceshiwenbe"}, {"测试文本", "ceshiwben"}, {"测试文本", "ceshwbe"}, {"测试文本", "ce4shi4wb"},
+                {"测试文本", "ce2shi4wb"}, {"合金炉", "hejinlu"}, {"洗矿场", "xikuangchang"}, {"洗矿场", "xikuachang"},
+                {"流体", "liuti"}, {"轰20", "hong2"}, {"hong2", "hong2"}, {"铁锭", "tieding"}, {"铁锭", "ding"},
+                {"铁锭", "dingt"}, {"Iron 铁锭", "on tie"}, {"Iron 铁锭", "iront"}, {"", "a"}, {"a", ""},
+        };
+        for (String[] testCase : cases) {
+            assertEquals(pinyinContains(testCase[0], testCase[1]), pinyinContainsCompiled(testCase[0], testCase[1]), testCase[0] + " / " + testCase[1]);
+        }
+        assertFalse(pinyinContainsCompiled("测试文本", "ce2shi4wb"));
+        assertTrue(pinyinContainsCompiled("测试文本", "ceshwbe"));
+    }
+    
     boolean pinyinContains(String input, String substr) {
         return InputMethodMatcher.contains(pinyinInputMethod, IntList.of(input.codePoints().toArray()), IntList.of(substr.codePoints().toArray()));
     }
+    
+    boolean pinyinContainsCompiled(String input, String substr) {
+        return InputMethodMatcher.compile(pinyinInputMethod, IntList.of(substr.codePoints().toArray())).contains(input);
+    }
 }